@@ -89,6 +89,7 @@ echo -e "\n${YELLOW}📝 Creating manifest file...${NC}"
 cat > "$OUTPUT_DIR/MANIFEST.MF" << EOF
 Manifest-Version: 1.0
 Created-By: Snake Burp Extension
+Main-Class: burp.cli.SnakeCli
 Extension-Name: Snake 🐍
 EOF
 
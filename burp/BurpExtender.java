@@ -2,13 +2,19 @@ package burp;
 
 import burp.IBurpExtender;
 import burp.IBurpExtenderCallbacks;
+import burp.engine.TrafficFeed;
+import burp.traffic.ProxyTrafficListener;
 import burp.ui.SnakeTab;
 
 import javax.swing.SwingUtilities;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Base64;
 
 public class BurpExtender implements IBurpExtender {
 
     private static final String EXTENSION_NAME = "Snake 🐍 v1.0.0";
+    private static final String SAVED_GAME_SETTING = "snake.savedGame"; // Base64 of GameStateCodec output
 
     private SnakeTab snakeTab;
 
@@ -16,17 +22,56 @@ public class BurpExtender implements IBurpExtender {
     public void registerExtenderCallbacks(IBurpExtenderCallbacks callbacks) {
         callbacks.setExtensionName(EXTENSION_NAME);
 
+        // Proxy threads only bump the feed's counters; the game loop drains them
+        TrafficFeed trafficFeed = new TrafficFeed();
+        ProxyTrafficListener proxyListener = new ProxyTrafficListener(trafficFeed);
+        callbacks.registerProxyListener(proxyListener);
+
         // All Swing work must happen on the EDT
         SwingUtilities.invokeLater(() -> {
-            snakeTab = new SnakeTab();
+            snakeTab = new SnakeTab(trafficFeed);
             callbacks.addSuiteTab(snakeTab);
+            resumeSavedGame(callbacks);
         });
 
-        // Register unload handler for clean teardown
+        // Register unload handler for clean teardown; the game is saved first so a reload resumes it
         callbacks.registerExtensionStateListener(() -> {
-            if (snakeTab != null) {
-                snakeTab.dispose();
-            }
+            callbacks.removeProxyListener(proxyListener);
+            runOnEdt(() -> {
+                if (snakeTab != null) {
+                    byte[] saved = snakeTab.suspendGame();
+                    callbacks.saveExtensionSetting(SAVED_GAME_SETTING,
+                            saved != null ? Base64.getEncoder().encodeToString(saved) : null);
+                    snakeTab.dispose();
+                    snakeTab = null;
+                }
+            });
         });
     }
+
+    /** Restores a game suspended at the last unload; a saved game is only resumed once. */
+    private void resumeSavedGame(IBurpExtenderCallbacks callbacks) {
+        String saved = callbacks.loadExtensionSetting(SAVED_GAME_SETTING);
+        if (saved == null) return;
+        callbacks.saveExtensionSetting(SAVED_GAME_SETTING, null);
+        try {
+            snakeTab.resumeGame(Base64.getDecoder().decode(saved));
+        } catch (IOException | IllegalArgumentException e) {
+            // Unreadable or from an incompatible version: start fresh
+        }
+    }
+
+    private static void runOnEdt(Runnable task) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            task.run();
+            return;
+        }
+        try {
+            SwingUtilities.invokeAndWait(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Unload failed", e.getCause());
+        }
+    }
 }
@@ -0,0 +1,38 @@
+package burp.bench;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Named set of metrics produced by one performance scenario, in insertion order.
+ */
+public final class BenchResult {
+
+    private final String name;
+    private final Map<String, Double> metrics = new LinkedHashMap<>();
+
+    public BenchResult(String name) {
+        this.name = name;
+    }
+
+    public BenchResult put(String metric, double value) {
+        metrics.put(metric, value);
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, Double> getMetrics() {
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(name);
+        metrics.forEach((k, v) -> sb.append("\n  ").append(k).append(" = ").append(String.format("%.3f", v)));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,99 @@
+package burp.bench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Registry of the built-in performance scenarios. Scenarios are headless, so
+ * they can run on build agents; the few that drive the Burp tab only run
+ * when the Burp API is on the classpath.
+ */
+public final class Benchmarks {
+
+    private static final List<Scenario> SCENARIOS = new ArrayList<>();
+
+    static {
+        register("level-map", LevelMapBench::run);
+        register("food-field", FoodFieldBench::run);
+        register("frame-export", FrameExportBench::run);
+        register("traffic-feed", () -> TrafficFeedBench.run(), true); // lambdas: link only when run
+        register("scheduler", SchedulerBench::run);
+        register("render-quality", RenderQualityBench::run);
+        register("bot-race", BotRaceBench::run);
+        register("event-stream", EventStreamBench::run);
+        register("save-game", SaveGameBench::run);
+        register("minimap", MinimapBench::run);
+        register("state-hash", StateHashBench::run);
+        register("monte-carlo", MonteCarloBench::run);
+        register("vector-env", VectorEnvBench::run);
+        register("reload", () -> ReloadBench.run(), true);
+    }
+
+    private Benchmarks() {}
+
+    public static List<Scenario> all() {
+        return Collections.unmodifiableList(SCENARIOS);
+    }
+
+    /** Runs every runnable scenario and prints the results. */
+    public static void main(String[] args) {
+        for (Scenario s : SCENARIOS) {
+            if (s.isRunnable()) System.out.println(s.run());
+        }
+    }
+
+    private static void register(String name, Supplier<BenchResult> body) {
+        register(name, body, false);
+    }
+
+    private static void register(String name, Supplier<BenchResult> body, boolean needsBurpApi) {
+        SCENARIOS.add(new Scenario(name, body, needsBurpApi));
+    }
+
+    private static boolean hasBurpApi() {
+        try {
+            Class.forName("burp.ITab", false, Benchmarks.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /** Median of the samples; sorts the array in place. */
+    static double median(long[] samples) {
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+
+    public static final class Scenario {
+        private final String name;
+        private final Supplier<BenchResult> body;
+        private final boolean needsBurpApi;
+
+        Scenario(String name, Supplier<BenchResult> body, boolean needsBurpApi) {
+            this.name         = name;
+            this.body         = body;
+            this.needsBurpApi = needsBurpApi;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean needsBurpApi() {
+            return needsBurpApi;
+        }
+
+        /** False when the scenario needs the Burp API and it is missing. */
+        public boolean isRunnable() {
+            return !needsBurpApi || hasBurpApi();
+        }
+
+        public BenchResult run() {
+            return body.get();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package burp.bench;
+
+import burp.bot.BotLoader;
+import burp.bot.BotRace;
+import burp.bot.BotReport;
+
+/**
+ * Bot SPI: decision latency and deadline misses of the built-in bot over a
+ * batch of seeded games, each decision on its own virtual thread.
+ */
+final class BotRaceBench {
+
+    private static final int GAMES     = 200;
+    private static final int MAX_TICKS = 2_000;
+
+    private BotRaceBench() {}
+
+    static BenchResult run() {
+        BotRace race = new BotRace(GAMES, MAX_TICKS, BotRace.DEFAULT_DEADLINE_NANOS, 1, 1L, false);
+        BotReport report;
+        try {
+            report = race.run(BotLoader.builtIn().get(0));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return new BenchResult("bot-race")
+            .put("decisions", report.getDecisions())
+            .put("deadline_misses", report.getMisses())
+            .put("latency_us_p50", report.getLatencyMicros(50))
+            .put("latency_us_p99", report.getLatencyMicros(99))
+            .put("latency_us_max", report.getMaxLatencyMicros())
+            .put("mean_score", report.getMeanScore());
+    }
+}
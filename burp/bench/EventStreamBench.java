@@ -0,0 +1,106 @@
+package burp.bench;
+
+import burp.engine.GameEngine;
+import burp.engine.GameEventHandler;
+import burp.engine.GameEventStream;
+import burp.model.Direction;
+import burp.model.FoodType;
+import burp.model.GameState;
+import burp.model.LevelMap;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Delta events: per-tick cost for four subscribers polling the event stream,
+ * against one full {@link GameEngine#snapshot()} rescan, as the food count
+ * grows on a 2048x2048 board. Also reports bytes allocated per poll.
+ */
+final class EventStreamBench {
+
+    private static final int   SIZE        = 2048;
+    private static final int[] FOOD_COUNTS = {1, 1_000, 100_000};
+    private static final int   SUBSCRIBERS = 4;
+    private static final int   TICKS       = 200_000;
+    private static final int   SNAPSHOTS   = 200;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private EventStreamBench() {}
+
+    static BenchResult run() {
+        BenchResult result = new BenchResult("event-stream");
+        LevelMap level = LevelMap.empty(SIZE, SIZE);
+        for (int count : FOOD_COUNTS) {
+            GameEngine engine = new GameEngine();
+            engine.setLevel(level);
+            engine.setWrapMode(true);
+            engine.setFoodCount(count);
+            engine.startNewGame();
+
+            GameEventStream.Subscription[] subs = new GameEventStream.Subscription[SUBSCRIBERS];
+            Tally[] tallies = new Tally[SUBSCRIBERS];
+            for (int i = 0; i < SUBSCRIBERS; i++) {
+                subs[i]    = engine.getEvents().subscribe(null);
+                tallies[i] = new Tally();
+            }
+
+            Random random = new Random(count);
+            Direction[] dirs = Direction.values();
+            long pollNanos = 0;
+            long allocated = 0;
+            for (int t = -TICKS / 4; t < TICKS; t++) { // first quarter is warm-up
+                if (engine.getState() != GameState.RUNNING) engine.startNewGame();
+                if ((t & 15) == 0) engine.setDesiredDirection(dirs[random.nextInt(dirs.length)]);
+                engine.tick();
+                long a0 = allocatedBytes();
+                long t0 = System.nanoTime();
+                for (int i = 0; i < SUBSCRIBERS; i++) subs[i].poll(tallies[i]);
+                long elapsed = System.nanoTime() - t0;
+                long bytes = allocatedBytes() - a0;
+                if (t >= 0) {
+                    pollNanos += elapsed;
+                    allocated += bytes;
+                }
+            }
+
+            long snapshotNanos = 0;
+            for (int i = 0; i < SNAPSHOTS; i++) {
+                long t0 = System.nanoTime();
+                engine.snapshot();
+                snapshotNanos += System.nanoTime() - t0;
+            }
+
+            result.put("poll_ns_per_tick_food_" + count, (double) pollNanos / TICKS);
+            result.put("snapshot_ns_food_" + count, (double) snapshotNanos / SNAPSHOTS);
+            result.put("poll_alloc_bytes_per_tick_food_" + count, (double) allocated / TICKS);
+        }
+        return result;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    /** A typical incremental consumer: keeps counts up to date from deltas alone. */
+    private static final class Tally implements GameEventHandler {
+        long cellsEntered;
+        long cellsLeft;
+        long foodSpawned;
+        long foodEaten;
+        int  score;
+        int  resets;
+
+        @Override public void onReset()                                 { resets++; }
+        @Override public void onTailRetracted(int x, int y)             { cellsLeft++; }
+        @Override public void onFoodSpawned(int x, int y, FoodType t)   { foodSpawned++; }
+        @Override public void onScoreChanged(int score, int highScore)  { this.score = score; }
+
+        @Override
+        public void onHeadAdvanced(int x, int y, FoodType eaten) {
+            cellsEntered++;
+            if (eaten != null) foodEaten++;
+        }
+    }
+}
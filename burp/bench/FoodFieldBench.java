@@ -0,0 +1,87 @@
+package burp.bench;
+
+import burp.engine.GameEngine;
+import burp.model.Direction;
+import burp.model.FoodField;
+import burp.model.GameState;
+import burp.model.LevelMap;
+import burp.model.Snake;
+
+import java.util.Random;
+
+/**
+ * Multi-food mode: tick cost and nearest-food query cost as the number of
+ * simultaneous items grows from 1 to 100k on a 2048x2048 board.
+ */
+final class FoodFieldBench {
+
+    private static final int   SIZE        = 2048;
+    private static final int[] FOOD_COUNTS = {1, 10, 100, 1_000, 10_000, 100_000};
+    private static final int   TICKS       = 500_000;
+    private static final int   QUERIES     = 200_000;
+
+    private static volatile long sink; // keeps the timed queries from being optimised away
+
+    private FoodFieldBench() {}
+
+    static BenchResult run() {
+        BenchResult result = new BenchResult("food-field");
+        LevelMap level = LevelMap.empty(SIZE, SIZE);
+        for (int count : FOOD_COUNTS) {
+            result.put("tick_ns_food_" + count, tickCost(level, count));
+            result.put("nearest_ns_food_" + count, nearestCost(level, count));
+        }
+        return result;
+    }
+
+    /**
+     * Average ns per tick for a wrapping snake that turns at random.
+     * Games that end are restarted outside the timed segments.
+     */
+    private static double tickCost(LevelMap level, int foodCount) {
+        GameEngine engine = new GameEngine();
+        engine.setLevel(level);
+        engine.setWrapMode(true);
+        engine.setFoodCount(foodCount);
+        engine.startNewGame();
+        Random random = new Random(foodCount);
+        Direction[] dirs = Direction.values();
+        for (int i = 0; i < TICKS / 4; i++) { // warm-up
+            if (engine.getState() != GameState.RUNNING) engine.startNewGame();
+            engine.setDesiredDirection(dirs[random.nextInt(dirs.length)]);
+            engine.tick();
+        }
+        long elapsed = 0;
+        int done = 0;
+        while (done < TICKS) {
+            if (engine.getState() != GameState.RUNNING) engine.startNewGame();
+            long t0 = System.nanoTime();
+            while (done < TICKS && engine.getState() == GameState.RUNNING) {
+                if ((done & 15) == 0) engine.setDesiredDirection(dirs[random.nextInt(dirs.length)]);
+                engine.tick();
+                done++;
+            }
+            elapsed += System.nanoTime() - t0;
+        }
+        return (double) elapsed / TICKS;
+    }
+
+    private static double nearestCost(LevelMap level, int foodCount) {
+        Random random = new Random(foodCount);
+        FoodField field = new FoodField(SIZE, SIZE, foodCount, random);
+        field.fill(level, new Snake(level.getSpawn(), level.getSpawnDirection()));
+        int[] xs = new int[QUERIES];
+        int[] ys = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            xs[i] = random.nextInt(SIZE);
+            ys[i] = random.nextInt(SIZE);
+        }
+        long sum = 0;
+        for (int i = 0; i < QUERIES / 4; i++) sum += field.nearest(xs[i], ys[i]); // warm-up
+        long t0 = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) sum += field.nearest(xs[i], ys[i]);
+        long elapsed = System.nanoTime() - t0;
+        sink = sum;
+        return (double) elapsed / QUERIES;
+    }
+}
@@ -0,0 +1,64 @@
+package burp.bench;
+
+import burp.engine.GameEngine;
+import burp.engine.GameSnapshot;
+import burp.export.ExportStats;
+import burp.export.FrameExporter;
+import burp.export.GifSequenceSink;
+import burp.model.Direction;
+import burp.model.GameState;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Frame export: encoder throughput and frame memory when streaming a
+ * simulated game into an animated GIF.
+ */
+final class FrameExportBench {
+
+    private static final int FRAMES = 300;
+
+    private FrameExportBench() {}
+
+    static BenchResult run() {
+        Path file = null;
+        try {
+            file = Files.createTempFile("snake-export", ".gif");
+            FrameExporter exporter = new FrameExporter(new GifSequenceSink(file));
+
+            GameEngine engine = new GameEngine();
+            engine.setWrapMode(true);
+            engine.startNewGame();
+            Random random = new Random(3);
+            Direction[] dirs = Direction.values();
+            long t0 = System.nanoTime();
+            for (int i = 0; i < FRAMES; i++) {
+                if (engine.getState() != GameState.RUNNING) engine.startNewGame();
+                if (i % 6 == 0) engine.setDesiredDirection(dirs[random.nextInt(dirs.length)]);
+                int delay = engine.tick();
+                GameSnapshot snapshot = engine.snapshot();
+                exporter.submitBlocking(snapshot, delay);
+            }
+            ExportStats stats = exporter.finish();
+            long wall = System.nanoTime() - t0;
+
+            return new BenchResult("frame-export")
+                .put("frames", stats.getFramesEncoded())
+                .put("encode_fps", stats.getFramesPerSecond())
+                .put("pipeline_fps", stats.getFramesEncoded() * 1e9 / wall)
+                .put("frame_memory_mb", stats.getPeakImageBytes() / (1024.0 * 1024.0))
+                .put("file_kb", Files.size(file) / 1024.0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } finally {
+            if (file != null) file.toFile().delete();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package burp.bench;
+
+import burp.engine.GameEngine;
+import burp.model.Direction;
+import burp.model.LevelMap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Level maps: load time of a 4096x4096 map through the memory-mapped loader,
+ * and tick cost on a walled board versus an empty one of the same size.
+ */
+final class LevelMapBench {
+
+    private static final int SIZE       = 4096;
+    private static final int LOAD_RUNS  = 9;
+    private static final int TICK_COUNT = 2_000_000;
+
+    private LevelMapBench() {}
+
+    static BenchResult run() {
+        LevelMap walled = buildWalledMap();
+        BenchResult result = new BenchResult("level-map");
+
+        Path file = null;
+        try {
+            file = Files.createTempFile("snake-level", ".snkl");
+            walled.write(file);
+            result.put("file_bytes", Files.size(file));
+
+            long[] samples = new long[LOAD_RUNS];
+            for (int i = 0; i < LOAD_RUNS; i++) {
+                long t0 = System.nanoTime();
+                LevelMap.load(file);
+                samples[i] = System.nanoTime() - t0;
+            }
+            result.put("load_ms_median", Benchmarks.median(samples) / 1e6);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (file != null) file.toFile().delete();
+        }
+
+        result.put("tick_ns_empty", tickCost(LevelMap.empty(SIZE, SIZE)));
+        result.put("tick_ns_walled", tickCost(walled));
+        return result;
+    }
+
+    /** Random wall blocks and portals, leaving the spawn row open for the tick loop. */
+    private static LevelMap buildWalledMap() {
+        Random random = new Random(7);
+        LevelMap.Builder builder = new LevelMap.Builder(SIZE, SIZE);
+        for (int i = 0; i < 20_000; i++) {
+            int x = random.nextInt(SIZE - 32);
+            int y = random.nextInt(SIZE - 32);
+            if (y <= SIZE / 2 && y + 32 > SIZE / 2) continue;
+            builder.wallRect(x, y, 1 + random.nextInt(32), 1 + random.nextInt(32));
+        }
+        builder.portal(0, 0, SIZE - 1, SIZE - 1);
+        builder.spawn(SIZE / 2, SIZE / 2, Direction.RIGHT);
+        return builder.build();
+    }
+
+    /** Average ns per tick for a snake running along the open spawn row with wrap mode on. */
+    private static double tickCost(LevelMap level) {
+        GameEngine engine = new GameEngine();
+        engine.setLevel(level);
+        engine.setWrapMode(true);
+        engine.startNewGame();
+        for (int i = 0; i < TICK_COUNT / 4; i++) engine.tick(); // warm-up
+        engine.startNewGame();
+        long t0 = System.nanoTime();
+        for (int i = 0; i < TICK_COUNT; i++) engine.tick();
+        return (double) (System.nanoTime() - t0) / TICK_COUNT;
+    }
+}
@@ -0,0 +1,85 @@
+package burp.bench;
+
+import burp.model.Direction;
+import burp.model.OccupancyPyramid;
+import burp.model.Point;
+import burp.model.Snake;
+import burp.ui.BoardRenderer;
+import burp.ui.MinimapOverlay;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Minimap: median cost of one snake step plus one minimap paint, across
+ * board sizes and snake lengths, next to a naive minimap that rebins the
+ * whole body every frame. The incremental numbers should stay flat.
+ */
+final class MinimapBench {
+
+    private static final int WARMUP = 500;
+    private static final int FRAMES = 2_000;
+    private static final int NAIVE_FRAMES = 15;
+
+    private MinimapBench() {}
+
+    static BenchResult run() {
+        BenchResult result = new BenchResult("minimap");
+        measure(result, "256_len1k", 256, 256, 1_000);
+        measure(result, "256_len32k", 256, 256, 32_000);
+        measure(result, "8192_len1k", 8192, 8192, 1_000);
+        measure(result, "8192_len1m", 8192, 8192, 1 << 20);
+        return result;
+    }
+
+    private static void measure(BenchResult result, String name, int cols, int rows, int length) {
+        List<Point> cells = new ArrayList<>(length);
+        for (int i = length - 1; i >= 0; i--) {
+            cells.add(serpentine(cols, i)); // head first
+        }
+        Snake snake = new Snake(cells, Direction.RIGHT, Direction.RIGHT);
+        OccupancyPyramid pyramid = new OccupancyPyramid(cols, rows);
+        snake.trackOccupancy(pyramid);
+
+        MinimapOverlay minimap = new MinimapOverlay();
+        BufferedImage image = new BufferedImage(BoardRenderer.boardWidth(), BoardRenderer.boardHeight(),
+                                                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        long[] samples = new long[FRAMES];
+        int step = length;
+        for (int i = -WARMUP; i < FRAMES; i++) {
+            long t0 = System.nanoTime();
+            snake.moveTo(serpentine(cols, step++), false);
+            Point head = snake.getHead();
+            minimap.paint(g2, pyramid, Math.max(0, head.x - 20), Math.max(0, head.y - 12), 40, 25);
+            long elapsed = System.nanoTime() - t0;
+            if (i >= 0) samples[i] = elapsed;
+        }
+
+        long[] naive = new long[NAIVE_FRAMES];
+        int level = pyramid.levelFitting(160);
+        int[] blocks = new int[pyramid.getBlockCols(level) * pyramid.getBlockRows(level)];
+        for (int i = 0; i < NAIVE_FRAMES; i++) {
+            long t0 = System.nanoTime();
+            Arrays.fill(blocks, 0);
+            for (Point p : snake.getBodyAsList()) {
+                blocks[(p.y >> level) * pyramid.getBlockCols(level) + (p.x >> level)]++;
+            }
+            naive[i] = System.nanoTime() - t0;
+        }
+        g2.dispose();
+
+        result.put("frame_us_" + name, Benchmarks.median(samples) / 1e3);
+        result.put("naive_rebin_us_" + name, Benchmarks.median(naive) / 1e3);
+    }
+
+    /** The i-th cell of a path winding row by row from the top-left. */
+    private static Point serpentine(int cols, int i) {
+        int y = i / cols;
+        int x = (y & 1) == 0 ? i % cols : cols - 1 - i % cols;
+        return new Point(x, y);
+    }
+}
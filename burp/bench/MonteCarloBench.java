@@ -0,0 +1,162 @@
+package burp.bench;
+
+import burp.bot.BoardView;
+import burp.bot.BotLoader;
+import burp.bot.BotRace;
+import burp.bot.BotReport;
+import burp.bot.GreedyBot;
+import burp.bot.MonteCarloBot;
+import burp.engine.GameEngine;
+import burp.engine.GameSnapshot;
+import burp.engine.RolloutBoard;
+import burp.model.Direction;
+import burp.model.GameState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Monte-Carlo planner: first checks that {@link RolloutBoard} follows the
+ * engine's rules move for move (any mismatch fails the scenario), then reports
+ * rollouts per second and decision quality at 1, 10 and 40ms budgets on
+ * positions taken from greedy games. Quality is agreement with, and regret
+ * against, a 200ms search of the same position; regret is the long search's
+ * value of its move minus that of the move chosen.
+ *
+ * Outcome: each budget, and the greedy bot as the baseline, plays the same
+ * seeded {@link BotRace} games; mean score, best score and mean ticks survived
+ * (out of the tick cap) are reported per bot.
+ */
+final class MonteCarloBench {
+
+    private static final long[] BUDGETS_MS     = {1, 10, 40};
+    private static final long   ORACLE_MS      = 200;
+    private static final int    POSITIONS      = 20;
+    private static final int    POSITION_EVERY = 40;
+    private static final int    RULE_TRIALS    = 2_000;
+    private static final int    RACE_GAMES     = 4;
+    private static final int    RACE_MAX_TICKS = 300;
+    private static final long   RACE_SLACK_MS  = 5; // deadline beyond twice the budget, so overshoot is not a miss
+
+    private MonteCarloBench() {}
+
+    static BenchResult run() {
+        BenchResult result = new BenchResult("monte-carlo");
+        int ruleMismatches = ruleMismatches();
+        if (ruleMismatches != 0) {
+            throw new IllegalStateException(ruleMismatches + " of " + RULE_TRIALS + " random walks left the engine's rules");
+        }
+        result.put("rule_mismatches", ruleMismatches);
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        List<GameSnapshot> positions = positions();
+        MonteCarloBot oracle = new MonteCarloBot(ORACLE_MS * 1_000_000L, pool);
+        GameEngine engine = new GameEngine();
+        Direction[] best = new Direction[positions.size()];
+        double[][] values = new double[positions.size()][Direction.values().length];
+        for (int i = 0; i < positions.size(); i++) {
+            engine.restore(positions.get(i));
+            best[i] = oracle.decide(BoardView.of(engine));
+            for (Direction d : Direction.values()) values[i][d.ordinal()] = oracle.getLastValue(d);
+        }
+
+        result.put("pool_threads", pool.getParallelism());
+        for (long ms : BUDGETS_MS) {
+            MonteCarloBot bot = new MonteCarloBot(ms * 1_000_000L, pool);
+            int agree = 0;
+            double regret = 0;
+            for (int i = 0; i < positions.size(); i++) {
+                engine.restore(positions.get(i));
+                Direction d = bot.decide(BoardView.of(engine));
+                if (d == best[i]) agree++;
+                regret += values[i][best[i].ordinal()] - values[i][d.ordinal()];
+            }
+            result.put("rollouts_per_sec_" + ms + "ms", bot.getRolloutsPerSecond());
+            result.put("agreement_pct_" + ms + "ms", 100.0 * agree / positions.size());
+            result.put("mean_regret_" + ms + "ms", regret / positions.size());
+        }
+
+        race(result, "greedy", new BotLoader.BotFactory("Greedy", GreedyBot::new), 1);
+        for (long ms : BUDGETS_MS) {
+            long budget = ms * 1_000_000L;
+            race(result, ms + "ms", new BotLoader.BotFactory("MonteCarlo", () -> new MonteCarloBot(budget, pool)), ms);
+        }
+        return result;
+    }
+
+    private static void race(BenchResult result, String suffix, BotLoader.BotFactory bot, long budgetMs) {
+        long deadline = (2 * budgetMs + RACE_SLACK_MS) * 1_000_000L;
+        BotReport report;
+        try {
+            report = new BotRace(RACE_GAMES, RACE_MAX_TICKS, deadline, 1, 1L, false).run(bot);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        result.put("race_mean_score_" + suffix, report.getMeanScore());
+        result.put("race_best_score_" + suffix, report.getBestScore());
+        result.put("race_mean_ticks_" + suffix, report.getMeanTicks());
+    }
+
+    /** Random walks on the engine and a rollout board side by side, until the first food or death. */
+    private static int ruleMismatches() {
+        Random random = new Random(11);
+        Direction[] dirs = Direction.values();
+        GameEngine engine = new GameEngine();
+        RolloutBoard board = new RolloutBoard();
+        int mismatches = 0;
+        for (int trial = 0; trial < RULE_TRIALS; trial++) {
+            engine.setWrapMode(trial % 2 == 0);
+            engine.setFoodCount(trial % 3 == 0 ? 30 : 1);
+            engine.setSeed(trial);
+            engine.startNewGame();
+            GameSnapshot start = engine.snapshot();
+            board.load(start, 200);
+            for (int t = 0; t < 200; t++) {
+                Direction d = dirs[random.nextInt(dirs.length)];
+                int value = board.step(d);
+                engine.setDesiredDirection(d);
+                engine.tick();
+                boolean died = engine.getState() == GameState.GAME_OVER;
+                if (died != (value == RolloutBoard.DIED)) {
+                    mismatches++;
+                    break;
+                }
+                if (died || value > 0) break;
+                if (board.headX() != engine.getSnake().getHead().x
+                        || board.headY() != engine.getSnake().getHead().y
+                        || board.length() != engine.getSnake().length()) {
+                    mismatches++;
+                    break;
+                }
+            }
+            board.rewind();
+            engine.restore(start);
+            if (board.headX() != engine.getSnake().getHead().x || board.headY() != engine.getSnake().getHead().y
+                    || board.direction() != engine.getSnake().getCurrentDirection()) {
+                mismatches++;
+            }
+        }
+        return mismatches;
+    }
+
+    /** Mid-game positions from seeded greedy games on the default board. */
+    private static List<GameSnapshot> positions() {
+        List<GameSnapshot> out = new ArrayList<>();
+        GameEngine engine = new GameEngine();
+        GreedyBot greedy = new GreedyBot();
+        BoardView view = BoardView.of(engine);
+        for (long seed = 1; out.size() < POSITIONS; seed++) {
+            engine.setSeed(seed);
+            engine.startNewGame();
+            for (int t = 1; t < 2_000 && engine.getState() == GameState.RUNNING && out.size() < POSITIONS; t++) {
+                engine.setDesiredDirection(greedy.decide(view));
+                engine.tick();
+                if (t % POSITION_EVERY == 0 && engine.getState() == GameState.RUNNING) out.add(engine.snapshot());
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,242 @@
+package burp.bench;
+
+import burp.ITab;
+import burp.bot.BotLoader;
+import burp.engine.GameEngine;
+import burp.engine.GameStateCodec;
+import burp.model.Difficulty;
+import burp.ui.GameScheduler;
+import burp.ui.SnakeTab;
+
+import javax.swing.AbstractButton;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import java.awt.Component;
+import java.awt.Container;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Extension reload: loads and unloads the extension 1,000 times, each time
+ * in a fresh class loader as Burp does. A cycle builds the tab and shows it
+ * in a host panel (made displayable without a window, so it works headless),
+ * resumes a saved game and hands the snake to the tab's Monte-Carlo bot,
+ * which searches on the tab's planner pool. It then clicks Resume and the support link (so the browser
+ * launcher starts its thread), waits for the shared scheduler to tick two
+ * frames, and suspends and disposes the tab like the extender's unload hook.
+ *
+ * The scenario fails unless, after a full GC, no cycle's class loader is
+ * still reachable (anything an unloaded extension leaves behind pins its
+ * loader), no thread started during the cycles is still alive, and used heap
+ * has grown by at most 2MB over the baseline taken after warm-up. Threads are
+ * compared by id, not counted, since idle workers left by earlier scenarios
+ * may exit meanwhile. Needs the Burp API jar on the class path; the registry
+ * skips it otherwise.
+ */
+final class ReloadBench {
+
+    private static final int  WARMUP_CYCLES     = 20;
+    private static final int  CYCLES            = 1_000;
+    private static final int  GC_ROUNDS         = 5;
+    private static final int  FRAMES            = 2;     // the first starts a bot decision, the second applies it
+    private static final long FRAME_TIMEOUT_MS  = 5_000;
+    private static final long MAX_HEAP_DELTA_KB = 2_048; // one retained tab alone is several MB
+
+    private ReloadBench() {}
+
+    static BenchResult run() {
+        BenchResult result = new BenchResult("reload");
+        GameEngine engine = new GameEngine();
+        engine.setSeed(3);
+        engine.setDifficulty(Difficulty.HARD); // shortest interval, so the frames come quickly
+        engine.startNewGame();
+        for (int t = 0; t < 5; t++) engine.tick(); // mid-game: still running when saved
+        byte[] saved = GameStateCodec.encode(engine.snapshot());
+        URL[] classpath = extensionClasspath();
+
+        for (int i = 0; i < WARMUP_CYCLES; i++) cycle(classpath, saved);
+        settle();
+        long baseHeap = usedHeap();
+        Set<Long> baseThreads = liveThreadIds();
+
+        List<WeakReference<ClassLoader>> loaders = new ArrayList<>(CYCLES);
+        long t0 = System.nanoTime();
+        for (int i = 0; i < CYCLES; i++) loaders.add(new WeakReference<>(cycle(classpath, saved)));
+        long elapsed = System.nanoTime() - t0;
+        settle();
+
+        int retained = 0;
+        for (WeakReference<ClassLoader> ref : loaders) {
+            if (ref.get() != null) retained++;
+        }
+        Set<Long> leaked = liveThreadIds();
+        leaked.removeAll(baseThreads);
+        int leakedThreads = leaked.size();
+        long heapDeltaKb = (usedHeap() - baseHeap) / 1024;
+        if (retained != 0) {
+            throw new IllegalStateException(retained + " of " + CYCLES + " unloaded extensions are still reachable");
+        }
+        if (leakedThreads != 0) {
+            throw new IllegalStateException(leakedThreads + " threads outlived " + CYCLES + " unloads");
+        }
+        if (heapDeltaKb > MAX_HEAP_DELTA_KB) {
+            throw new IllegalStateException("Heap grew by " + heapDeltaKb + "KB over " + CYCLES + " reloads");
+        }
+        result.put("cycles", CYCLES);
+        result.put("cycle_ms", elapsed / 1e6 / CYCLES);
+        result.put("retained_loaders", retained);
+        result.put("leaked_threads", leakedThreads);
+        result.put("heap_delta_kb", heapDeltaKb);
+        return result;
+    }
+
+    private static Set<Long> liveThreadIds() {
+        Set<Long> ids = new HashSet<>();
+        for (long id : ManagementFactory.getThreadMXBean().getAllThreadIds()) ids.add(id);
+        return ids;
+    }
+
+    /** Loads the extension's classes afresh, runs {@link #loadAndUnload} from them and closes the loader. */
+    private static ClassLoader cycle(URL[] classpath, byte[] saved) {
+        URLClassLoader loader = new URLClassLoader(classpath, ClassLoader.getPlatformClassLoader());
+        try (loader) {
+            Method body = loader.loadClass(ReloadBench.class.getName()).getDeclaredMethod("loadAndUnload", byte[].class);
+            body.setAccessible(true);
+            body.invoke(null, (Object) saved);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Reload cycle failed", e.getCause());
+        } catch (ReflectiveOperationException | IOException e) {
+            throw new IllegalStateException("Cannot reload extension classes", e);
+        }
+        return loader;
+    }
+
+    /** One extension lifetime; runs on the cycle's own copy of the classes. */
+    @SuppressWarnings("unused")
+    private static void loadAndUnload(byte[] saved) {
+        SnakeTab[] tab = new SnakeTab[1];
+        JPanel host = new JPanel(); // stands in for Burp's tab strip
+        onEdt(() -> {
+            tab[0] = new SnakeTab();
+            try {
+                tab[0].resumeGame(saved);
+            } catch (IOException e) {
+                throw new IllegalStateException("Saved game rejected", e);
+            }
+            host.add(tab[0].getUiComponent());
+            host.addNotify(); // the tab is now showing, with no host window
+            tab[0].setBot(bot(tab[0], "MonteCarlo")); // searches on the tab's own planner pool
+            button(host, "Resume").doClick(0);
+            button(host, "Support").doClick(0);
+        });
+        awaitFrames();
+
+        onEdt(() -> {
+            tab[0].suspendGame();
+            tab[0].dispose();
+            host.removeNotify();
+            host.removeAll();
+        });
+    }
+
+    /** Waits for the shared scheduler to tick the tab's game a few times. */
+    private static void awaitFrames() {
+        long deadline = System.nanoTime() + FRAME_TIMEOUT_MS * 1_000_000L;
+        long[] ticks = new long[1];
+        while (true) {
+            onEdt(() -> {
+                ticks[0] = GameScheduler.acquireShared().getTicks(); // the tab's scheduler
+                GameScheduler.releaseShared();
+            });
+            if (ticks[0] >= FRAMES) return;
+            if (System.nanoTime() > deadline) throw new IllegalStateException("The tab ticked " + ticks[0] + " frames");
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static BotLoader.BotFactory bot(SnakeTab tab, String name) {
+        for (BotLoader.BotFactory f : tab.getBotChoices()) {
+            if (f.getName().equals(name)) return f;
+        }
+        throw new IllegalStateException("No " + name + " bot in the tab");
+    }
+
+    /** The first button under root whose text contains the label, as the player would click it. */
+    private static AbstractButton button(Container root, String label) {
+        AbstractButton found = findButton(root, label);
+        if (found == null) throw new IllegalStateException("No " + label + " button in the tab");
+        return found;
+    }
+
+    private static AbstractButton findButton(Container root, String label) {
+        for (Component c : root.getComponents()) {
+            if (c instanceof AbstractButton b && b.getText() != null && b.getText().contains(label)) return b;
+            if (c instanceof Container child) {
+                AbstractButton found = findButton(child, label);
+                if (found != null) return found;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The extension's own classes, plus the Burp API jar from its explicit
+     * class-path entry; the extension jar never bundles the API, as in Burp.
+     */
+    private static URL[] extensionClasspath() {
+        URL own = codeLocation(ReloadBench.class);
+        URL api = codeLocation(ITab.class);
+        return own.equals(api) ? new URL[] {own} : new URL[] {own, api};
+    }
+
+    private static URL codeLocation(Class<?> type) {
+        CodeSource source = type.getProtectionDomain().getCodeSource();
+        if (source == null) throw new IllegalStateException(type.getName() + " has no code source");
+        return source.getLocation();
+    }
+
+    /** Drains events the tabs queued on the EDT, then collects until heap use settles. */
+    private static void settle() {
+        onEdt(() -> {});
+        for (int i = 0; i < GC_ROUNDS; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    private static void onEdt(Runnable task) {
+        try {
+            SwingUtilities.invokeAndWait(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package burp.bench;
+
+import burp.engine.GameEngine;
+import burp.engine.GameSnapshot;
+import burp.model.GameState;
+import burp.ui.BoardRenderer;
+import burp.ui.RenderQuality;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Board painting: median paint time at each render-quality level, on a
+ * 100-food board, drawn into an offscreen image. Every level paints the same
+ * fixed set of frames (restored untimed before each paint), after all levels
+ * have been warmed up, so the levels differ only in how they draw.
+ */
+final class RenderQualityBench {
+
+    private static final int FRAMES        = 250; // snapshots, one per tick of a seeded wrap-mode game
+    private static final int WARMUP_PASSES = 1;
+    private static final int PASSES        = 2;
+
+    private RenderQualityBench() {}
+
+    static BenchResult run() {
+        List<GameSnapshot> frames = frames();
+        GameEngine engine = new GameEngine();
+        BoardRenderer renderer = new BoardRenderer(engine);
+        BufferedImage image = new BufferedImage(BoardRenderer.boardWidth(), BoardRenderer.boardHeight(),
+                                                BufferedImage.TYPE_INT_RGB);
+
+        for (RenderQuality q : RenderQuality.values()) paintAll(renderer, engine, image, q, frames, WARMUP_PASSES);
+        BenchResult result = new BenchResult("render-quality");
+        for (RenderQuality q : RenderQuality.values()) {
+            long[] samples = paintAll(renderer, engine, image, q, frames, PASSES);
+            result.put("paint_us_" + q.name().toLowerCase(), Benchmarks.median(samples) / 1e3);
+        }
+        return result;
+    }
+
+    private static List<GameSnapshot> frames() {
+        GameEngine engine = new GameEngine();
+        engine.setWrapMode(true);
+        engine.setFoodCount(100);
+        engine.setSeed(1);
+        engine.startNewGame();
+        List<GameSnapshot> frames = new ArrayList<>(FRAMES);
+        while (frames.size() < FRAMES) {
+            if (engine.getState() != GameState.RUNNING) engine.startNewGame();
+            engine.tick();
+            frames.add(engine.snapshot());
+        }
+        return frames;
+    }
+
+    private static long[] paintAll(BoardRenderer renderer, GameEngine engine, BufferedImage image,
+                                   RenderQuality q, List<GameSnapshot> frames, int passes) {
+        renderer.setQuality(q);
+        long[] samples = new long[frames.size() * passes];
+        int n = 0;
+        for (int p = 0; p < passes; p++) {
+            for (GameSnapshot frame : frames) {
+                engine.restore(frame); // untimed
+                Graphics2D g2 = image.createGraphics();
+                long t0 = System.nanoTime();
+                renderer.paint(g2);
+                samples[n++] = System.nanoTime() - t0;
+                g2.dispose();
+            }
+        }
+        return samples;
+    }
+}
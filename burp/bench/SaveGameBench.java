@@ -0,0 +1,97 @@
+package burp.bench;
+
+import burp.engine.GameEngine;
+import burp.engine.GameSnapshot;
+import burp.engine.GameStateCodec;
+import burp.model.Difficulty;
+import burp.model.Direction;
+import burp.model.FoodType;
+import burp.model.GameState;
+import burp.model.LevelMap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Suspend/resume: blob size and time to encode (snapshot + pack) and decode
+ * (unpack, then unpack + restore) a 40x25 board filled by the snake, and an 8192x8192
+ * board with a 1M-cell snake and 100k food items. Both must fit well inside
+ * Burp's unload, where the save runs. Every run must round-trip: re-encoding
+ * the restored engine gives the same bytes, or the scenario fails.
+ */
+final class SaveGameBench {
+
+    private static final int RUNS = 9;
+
+    private SaveGameBench() {}
+
+    static BenchResult run() {
+        BenchResult result = new BenchResult("save-game");
+        measure(result, "40x25", GameEngine.COLS, GameEngine.ROWS, GameEngine.COLS * GameEngine.ROWS, 0);
+        measure(result, "8192x8192", 8192, 8192, 1 << 20, 100_000);
+        return result;
+    }
+
+    private static void measure(BenchResult result, String name, int cols, int rows, int length, int foodItems) {
+        GameEngine engine = new GameEngine();
+        engine.restore(serpentine(cols, rows, length, foodItems));
+
+        long[] encode = new long[RUNS];
+        long[] decode = new long[RUNS];
+        long[] unpack = new long[RUNS];
+        byte[] blob = null;
+        try {
+            for (int i = 0; i < RUNS; i++) {
+                long t0 = System.nanoTime();
+                blob = GameStateCodec.encode(engine.snapshot());
+                encode[i] = System.nanoTime() - t0;
+
+                GameEngine restored = new GameEngine();
+                t0 = System.nanoTime();
+                GameSnapshot snapshot = GameStateCodec.decode(blob);
+                unpack[i] = System.nanoTime() - t0;
+                restored.restore(snapshot);
+                decode[i] = System.nanoTime() - t0;
+
+                if (!Arrays.equals(blob, GameStateCodec.encode(restored.snapshot()))) {
+                    throw new IllegalStateException("Save of the " + name + " board does not round-trip (run " + i + ")");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        result.put("encode_ms_" + name, Benchmarks.median(encode) / 1e6);
+        result.put("unpack_ms_" + name, Benchmarks.median(unpack) / 1e6);
+        result.put("decode_ms_" + name, Benchmarks.median(decode) / 1e6);
+        result.put("blob_bytes_" + name, blob.length);
+        result.put("bits_per_segment_" + name, blob.length * 8.0 / length);
+    }
+
+    /** A snake winding row by row from the top-left, head last laid; food below it. */
+    private static GameSnapshot serpentine(int cols, int rows, int length, int foodItems) {
+        int[] body = new int[length];
+        for (int i = 0; i < length; i++) {
+            int y = i / cols;
+            int x = (y & 1) == 0 ? i % cols : cols - 1 - i % cols;
+            body[length - 1 - i] = y * cols + x;
+        }
+        int headY = body[0] / cols;
+        Direction dir = (headY & 1) == 0 ? Direction.RIGHT : Direction.LEFT;
+
+        int[] items = null;
+        if (foodItems > 0) {
+            items = new int[foodItems * 2];
+            Random random = new Random(7);
+            int firstFree = ((length + cols - 1) / cols) * cols;
+            for (int i = 0; i < foodItems; i++) {
+                items[2 * i]     = firstFree + i * ((cols * rows - firstFree) / foodItems);
+                items[2 * i + 1] = random.nextInt(FoodType.values().length);
+            }
+        }
+        return new GameSnapshot(body, dir, dir, -1, items, Math.max(1, foodItems), null, GameState.PAUSED,
+                length * 10, length * 10, length - 1, false, Difficulty.HARD,
+                LevelMap.empty(cols, rows), 0x5EED);
+    }
+}
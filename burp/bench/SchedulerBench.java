@@ -0,0 +1,110 @@
+package burp.bench;
+
+import burp.engine.GameEngine;
+import burp.model.Difficulty;
+import burp.model.GameState;
+import burp.ui.GameScheduler;
+
+import javax.swing.SwingUtilities;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Shared scheduler: lateness (jitter) and bookkeeping overhead as the number
+ * of concurrently running boards grows from 1 to 64. Runs on the EDT, which
+ * exists in headless mode too.
+ */
+final class SchedulerBench {
+
+    private static final int[] BOARD_COUNTS = {1, 4, 16, 64};
+    private static final long  RUN_MS       = 2_000;
+
+    private SchedulerBench() {}
+
+    static BenchResult run() {
+        BenchResult result = new BenchResult("scheduler");
+        for (int boards : BOARD_COUNTS) {
+            GameScheduler scheduler = onEdt(GameScheduler::new);
+            GameScheduler.Board[] all = new GameScheduler.Board[boards];
+            Difficulty[] difficulties = Difficulty.values();
+            for (int i = 0; i < boards; i++) {
+                GameEngine engine = new GameEngine();
+                engine.setWrapMode(true);
+                engine.setDifficulty(difficulties[i % difficulties.length]);
+                engine.startNewGame();
+                all[i] = new BenchBoard(engine);
+            }
+
+            onEdt(() -> {
+                for (GameScheduler.Board b : all) scheduler.schedule(b);
+                return null;
+            });
+            sleep(RUN_MS / 4); // warm-up
+            onEdt(() -> {
+                scheduler.resetStats();
+                return null;
+            });
+            sleep(RUN_MS);
+            onEdt(() -> {
+                for (GameScheduler.Board b : all) scheduler.unschedule(b);
+                result.put("mean_lateness_ms_" + boards + "_boards", scheduler.getMeanLatenessMs());
+                result.put("max_lateness_ms_" + boards + "_boards", scheduler.getMaxLatenessMs());
+                result.put("overhead_us_per_frame_" + boards + "_boards", scheduler.getOverheadMicrosPerFrame());
+                result.put("ticks_per_frame_" + boards + "_boards",
+                           (double) scheduler.getTicks() / Math.max(1, scheduler.getFrames()));
+                return null;
+            });
+        }
+        return result;
+    }
+
+    /** Restarts its game whenever it ends so every board keeps ticking. */
+    private static final class BenchBoard implements GameScheduler.Board {
+        private final GameEngine engine;
+
+        BenchBoard(GameEngine engine) {
+            this.engine = engine;
+        }
+
+        @Override
+        public GameEngine getEngine() {
+            return engine;
+        }
+
+        @Override
+        public void afterTick(int nextDelayMs) {
+            if (engine.getState() != GameState.RUNNING) engine.startNewGame();
+        }
+
+        @Override
+        public void render() {
+            // Rendering is not part of the scheduler's cost
+        }
+    }
+
+    private interface EdtTask<T> {
+        T call();
+    }
+
+    private static <T> T onEdt(EdtTask<T> task) {
+        Object[] out = new Object[1];
+        try {
+            SwingUtilities.invokeAndWait(() -> out[0] = task.call());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        @SuppressWarnings("unchecked")
+        T value = (T) out[0];
+        return value;
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
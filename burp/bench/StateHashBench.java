@@ -0,0 +1,146 @@
+package burp.bench;
+
+import burp.engine.GameEngine;
+import burp.engine.GameSnapshot;
+import burp.engine.TrafficFeed;
+import burp.engine.ZobristKeys;
+import burp.model.Difficulty;
+import burp.model.Direction;
+import burp.model.GameState;
+import burp.model.LevelMap;
+import burp.model.ObstacleField;
+
+import java.util.Random;
+
+/**
+ * Zobrist state hash: randomized games in classic, wrap, multi-food and
+ * traffic modes check the incremental hash against a full recompute after
+ * every tick and across snapshot/restore. Any mismatch fails the scenario,
+ * naming the first mode seed, game and tick where the hashes differed; so
+ * does a traffic run that never fills the obstacle field, since evictions
+ * would then go unchecked. Also
+ * reports the cost of one tick's hash update and of a full recompute for a
+ * 64k-segment snake.
+ */
+final class StateHashBench {
+
+    private static final int GAMES_PER_MODE = 100;
+    private static final int MAX_TICKS      = 2_000;
+    private static final int RESTORE_EVERY  = 97;
+    private static final int UPDATES        = 5_000_000;
+    private static final int RECOMPUTES     = 21;
+    private static final int LONG_SNAKE     = 1 << 16;
+    private static final int LONG_BOARD     = 2048;
+
+    private static volatile long sink; // keeps the timed XORs from being optimised away
+
+    private StateHashBench() {}
+
+    static BenchResult run() {
+        BenchResult result = new BenchResult("state-hash");
+        Tally tally = new Tally();
+        verify(tally, false, 1, false, 1);
+        verify(tally, true, 1, false, 2);
+        verify(tally, true, 25, false, 3);
+        verify(tally, true, 1, true, 4);
+        if (tally.mismatches != 0) {
+            throw new IllegalStateException(tally.mismatches + " of " + tally.checks
+                    + " state hash checks failed; first at " + tally.first);
+        }
+        if (tally.fullObstacleTicks == 0) {
+            throw new IllegalStateException("Traffic games never filled the obstacle field");
+        }
+        result.put("checks", tally.checks);
+        result.put("mismatches", tally.mismatches);
+        result.put("full_obstacle_ticks", tally.fullObstacleTicks);
+        result.put("update_ns_per_tick", updateNanos());
+        result.put("recompute_us_len64k", recomputeMicros());
+        return result;
+    }
+
+    private static void verify(Tally tally, boolean wrap, int foodCount, boolean traffic, long seed) {
+        TrafficFeed feed = new TrafficFeed();
+        feed.setEnabled(traffic);
+        GameEngine engine = new GameEngine();
+        engine.setWrapMode(wrap);
+        engine.setFoodCount(foodCount);
+        engine.setTrafficFeed(feed);
+        engine.setSeed(seed);
+        GameEngine replica = new GameEngine();
+
+        Random random = new Random(seed);
+        Direction[] dirs = Direction.values();
+        for (int g = 0; g < GAMES_PER_MODE; g++) {
+            engine.startNewGame();
+            tally.check(engine.getStateHash() == engine.computeStateHash(), seed, g, 0, "start");
+            for (int t = 0; t < MAX_TICKS && engine.getState() == GameState.RUNNING; t++) {
+                if (random.nextInt(4) == 0) engine.setDesiredDirection(dirs[random.nextInt(dirs.length)]);
+                if (traffic) {
+                    for (int r = random.nextInt(3); r > 0; r--) feed.recordRequest();
+                    if (random.nextInt(2) == 0) feed.recordResponse("HTTP/1.1 500 Oops".getBytes());
+                }
+                engine.tick();
+                tally.check(engine.getStateHash() == engine.computeStateHash(), seed, g, t + 1, "tick");
+                ObstacleField obstacles = engine.getObstacles();
+                if (obstacles != null && obstacles.size() == obstacles.capacity()) tally.fullObstacleTicks++;
+                if (t % RESTORE_EVERY == 0) {
+                    replica.restore(engine.snapshot());
+                    tally.check(replica.getStateHash() == engine.getStateHash(), seed, g, t + 1, "restore");
+                }
+            }
+        }
+    }
+
+    private static final class Tally {
+        long   checks;
+        long   mismatches;
+        long   fullObstacleTicks; // ticks ending with the obstacle field full, so the next one evicts
+        String first; // where the first mismatch happened
+
+        void check(boolean ok, long seed, int game, int tick, String what) {
+            checks++;
+            if (ok) return;
+            if (mismatches++ == 0) first = "seed " + seed + ", game " + game + ", tick " + tick + " (" + what + ")";
+        }
+    }
+
+    /** The XORs one non-eating tick performs: direction unchanged, head moves, tail leaves. */
+    private static double updateNanos() {
+        Random random = new Random(5);
+        int[] cells = new int[1024];
+        for (int i = 0; i < cells.length; i++) cells[i] = random.nextInt(LONG_BOARD * LONG_BOARD);
+        long h = 0;
+        long t0 = 0;
+        for (int i = -UPDATES / 4; i < UPDATES; i++) { // first quarter is warm-up
+            if (i == 0) t0 = System.nanoTime();
+            int head = cells[i & 1023];
+            int next = cells[(i + 1) & 1023];
+            int tail = cells[(i + 512) & 1023];
+            h ^= ZobristKeys.head(head) ^ ZobristKeys.head(next) ^ ZobristKeys.body(next) ^ ZobristKeys.body(tail);
+        }
+        double perTick = (double) (System.nanoTime() - t0) / UPDATES;
+        sink = h;
+        return perTick;
+    }
+
+    private static double recomputeMicros() {
+        int[] body = new int[LONG_SNAKE];
+        for (int i = 0; i < LONG_SNAKE; i++) {
+            int y = i / LONG_BOARD;
+            int x = (y & 1) == 0 ? i % LONG_BOARD : LONG_BOARD - 1 - i % LONG_BOARD;
+            body[LONG_SNAKE - 1 - i] = y * LONG_BOARD + x;
+        }
+        int food = LONG_BOARD * (LONG_BOARD - 1);
+        GameEngine engine = new GameEngine();
+        engine.restore(new GameSnapshot(body, Direction.LEFT, Direction.LEFT, food, null, 1, null,
+                GameState.PAUSED, 0, 0, 0, true, Difficulty.MEDIUM, LevelMap.empty(LONG_BOARD, LONG_BOARD), 1));
+
+        long[] samples = new long[RECOMPUTES];
+        for (int i = 0; i < RECOMPUTES; i++) {
+            long t0 = System.nanoTime();
+            engine.computeStateHash();
+            samples[i] = System.nanoTime() - t0;
+        }
+        return Benchmarks.median(samples) / 1e3;
+    }
+}
@@ -0,0 +1,162 @@
+package burp.bench;
+
+import burp.IHttpRequestResponse;
+import burp.IHttpService;
+import burp.IInterceptedProxyMessage;
+import burp.engine.TrafficFeed;
+import burp.traffic.ProxyTrafficListener;
+
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Traffic mode: nanoseconds added to each proxied message by the feed,
+ * uncontended and with several proxy threads hammering it while a game loop
+ * drains at 25Hz.
+ *
+ * Also times whole responses of 2 KB to 1 MB through
+ * {@link ProxyTrafficListener}, where the legacy API only offers the full
+ * response bytes. Burp may hand out its own buffer or a copy, so both are
+ * measured; the copy is what a proxy thread pays in the worst case.
+ */
+final class TrafficFeedBench {
+
+    private static final int  MESSAGES_PER_THREAD = 2_000_000;
+    private static final int  CONTENDED_THREADS   = 8;
+    private static final long DRAIN_INTERVAL_MS   = 40;
+    private static final int[] RESPONSE_SIZES     = {2 << 10, 64 << 10, 1 << 20};
+    private static final int  LISTENER_MESSAGES   = 20_000;
+
+    private static final byte[] OK_RESPONSE    = "HTTP/1.1 200 OK\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ERROR_RESPONSE = "HTTP/1.1 503 Service Unavailable\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private TrafficFeedBench() {}
+
+    static BenchResult run() {
+        TrafficFeed feed = new TrafficFeed();
+        feed.setEnabled(true);
+        hammer(feed, MESSAGES_PER_THREAD); // warm-up
+
+        BenchResult result = new BenchResult("traffic-feed")
+            .put("ns_per_message_1_thread", measure(feed, 1))
+            .put("ns_per_message_" + CONTENDED_THREADS + "_threads", measure(feed, CONTENDED_THREADS));
+
+        ProxyTrafficListener listener = new ProxyTrafficListener(feed);
+        for (int i = 0; i < 4; i++) measureListener(listener, RESPONSE_SIZES[0], i % 2 == 0); // warm-up
+        for (int size : RESPONSE_SIZES) {
+            String kb = (size >> 10) + "kb";
+            result.put("listener_ns_per_response_" + kb + "_shared", measureListener(listener, size, false));
+            result.put("listener_ns_per_response_" + kb + "_copied", measureListener(listener, size, true));
+        }
+        return result;
+    }
+
+    /** Average ns per response through the listener, one in ten an error. */
+    private static double measureListener(ProxyTrafficListener listener, int size, boolean copied) {
+        FakeMessage ok    = new FakeMessage(response(OK_RESPONSE, size), copied);
+        FakeMessage error = new FakeMessage(response(ERROR_RESPONSE, size), copied);
+        long elapsed = 0;
+        for (int i = -LISTENER_MESSAGES / 4; i < LISTENER_MESSAGES; i++) { // first quarter is warm-up
+            long t0 = System.nanoTime();
+            listener.processProxyMessage(false, i % 10 == 0 ? error : ok);
+            if (i >= 0) elapsed += System.nanoTime() - t0;
+        }
+        return (double) elapsed / LISTENER_MESSAGES;
+    }
+
+    /** Status line and headers padded with a body to {@code size} bytes. */
+    private static byte[] response(byte[] head, int size) {
+        byte[] out = Arrays.copyOf(head, size);
+        Arrays.fill(out, head.length, size, (byte) 'x');
+        return out;
+    }
+
+    /** Average ns per message seen by each producer thread, with a drainer running. */
+    private static double measure(TrafficFeed feed, int threads) {
+        AtomicLong producerNanos = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done  = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread producer = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long t0 = System.nanoTime();
+                hammer(feed, MESSAGES_PER_THREAD);
+                producerNanos.addAndGet(System.nanoTime() - t0);
+                done.countDown();
+            }, "bench-proxy-" + t);
+            producer.setDaemon(true);
+            producer.start();
+        }
+
+        Thread drainer = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                feed.drain();
+                try {
+                    Thread.sleep(DRAIN_INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "bench-game-loop");
+        drainer.setDaemon(true);
+        drainer.start();
+
+        start.countDown();
+        try {
+            done.await(5, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drainer.interrupt();
+        return (double) producerNanos.get() / ((long) threads * MESSAGES_PER_THREAD);
+    }
+
+    /** Alternating requests and responses, one in ten responses an error. */
+    private static void hammer(TrafficFeed feed, int messages) {
+        for (int i = 0; i < messages; i++) {
+            if ((i & 1) == 0) {
+                feed.recordRequest();
+            } else {
+                feed.recordResponse(i % 20 == 1 ? ERROR_RESPONSE : OK_RESPONSE);
+            }
+        }
+    }
+
+    /** A proxied response as the legacy API presents it; only the response bytes are real. */
+    private static final class FakeMessage implements IInterceptedProxyMessage, IHttpRequestResponse {
+        private final byte[]  response;
+        private final boolean copied; // models a Burp build that returns defensive copies
+
+        FakeMessage(byte[] response, boolean copied) {
+            this.response = response;
+            this.copied   = copied;
+        }
+
+        @Override public byte[] getResponse() { return copied ? response.clone() : response; }
+        @Override public IHttpRequestResponse getMessageInfo() { return this; }
+
+        @Override public int         getMessageReference()          { return 0; }
+        @Override public int         getInterceptAction()           { return ACTION_FOLLOW_RULES; }
+        @Override public void        setInterceptAction(int action) {}
+        @Override public String      getListenerInterface()         { return null; }
+        @Override public InetAddress getClientIpAddress()           { return null; }
+        @Override public byte[]      getRequest()                   { return null; }
+        @Override public void        setRequest(byte[] message)     {}
+        @Override public void        setResponse(byte[] message)    {}
+        @Override public String      getComment()                   { return null; }
+        @Override public void        setComment(String comment)     {}
+        @Override public String      getHighlight()                 { return null; }
+        @Override public void        setHighlight(String color)     {}
+        @Override public IHttpService getHttpService()              { return null; }
+        @Override public void        setHttpService(IHttpService s) {}
+    }
+}
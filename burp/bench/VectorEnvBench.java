@@ -0,0 +1,77 @@
+package burp.bench;
+
+import burp.engine.VectorSnakeEnv;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Vectorized environment: batched steps per second for 4096 games, and bytes
+ * allocated per step by the stepping thread and the common-pool workers that
+ * share its chunks. Steady-state stepping must not allocate an object per
+ * step; the scenario fails at one byte per step or more. (A fork-join wait
+ * node on the odd step where the caller blocks stays well below that.)
+ */
+final class VectorEnvBench {
+
+    private static final int ENVS                     = 4096;
+    private static final int WARMUP_STEPS             = 2_000;
+    private static final int STEPS                    = 10_000;
+    private static final int ACTION_FRAMES            = 64; // pre-drawn action arrays, cycled
+    private static final int MAX_ALLOC_BYTES_PER_STEP = 1;  // any per-step object is at least 16
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private VectorEnvBench() {}
+
+    static BenchResult run() {
+        BenchResult result = new BenchResult("vector-env");
+        VectorSnakeEnv env = new VectorSnakeEnv(ENVS, 7);
+        Random random = new Random(7);
+        int[][] actions = new int[ACTION_FRAMES][ENVS];
+        for (int[] frame : actions) {
+            for (int e = 0; e < ENVS; e++) frame[e] = random.nextInt(8) == 0 ? random.nextInt(4) : VectorSnakeEnv.NO_OP;
+        }
+
+        for (int i = 0; i < WARMUP_STEPS; i++) env.step(actions[i % ACTION_FRAMES]);
+        long[] threads = steppingThreads();
+        long a0 = allocatedBytes(threads);
+        long t0 = System.nanoTime();
+        for (int i = 0; i < STEPS; i++) env.step(actions[i % ACTION_FRAMES]);
+        long elapsed = System.nanoTime() - t0;
+        double bytesPerStep = (double) (allocatedBytes(threads) - a0) / STEPS;
+
+        result.put("envs", ENVS);
+        result.put("pool_threads", ForkJoinPool.commonPool().getParallelism());
+        result.put("steps_per_sec", STEPS * 1e9 / elapsed);
+        result.put("env_steps_per_sec", (double) STEPS * ENVS * 1e9 / elapsed);
+        result.put("alloc_bytes_per_step", bytesPerStep);
+        if (bytesPerStep >= MAX_ALLOC_BYTES_PER_STEP) {
+            throw new IllegalStateException("VectorSnakeEnv.step allocated " + bytesPerStep + " bytes per step");
+        }
+        return result;
+    }
+
+    /** This thread and the common pool's live workers; ids are taken once, after warm-up. */
+    private static long[] steppingThreads() {
+        List<Long> ids = new ArrayList<>();
+        ids.add(Thread.currentThread().threadId());
+        for (Thread t : Thread.getAllStackTraces().keySet()) {
+            if (t instanceof ForkJoinWorkerThread w && w.getPool() == ForkJoinPool.commonPool()) ids.add(t.threadId());
+        }
+        long[] out = new long[ids.size()];
+        for (int i = 0; i < out.length; i++) out[i] = ids.get(i);
+        return out;
+    }
+
+    private static long allocatedBytes(long[] threads) {
+        long sum = 0;
+        for (long id : threads) sum += Math.max(0, THREADS.getThreadAllocatedBytes(id));
+        return sum;
+    }
+}
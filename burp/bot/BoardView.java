@@ -0,0 +1,64 @@
+package burp.bot;
+
+import burp.engine.GameEngine;
+import burp.engine.GameSnapshot;
+import burp.model.Direction;
+import burp.model.Point;
+
+/**
+ * Read-only view of one game for bots. Reads go straight to the engine's own
+ * structures; nothing is copied per tick. The engine does not change between
+ * the start of a decision and its deadline, so reads are consistent for as
+ * long as a punctual bot can make them.
+ *
+ * Reads after the deadline are undefined: the engine may be ticking on its own
+ * thread meanwhile, so a late bot can see a torn state or an exception. Under
+ * {@link BotDriver} that is contained in the late decision, whose result and
+ * error are both discarded. A bot that may run late should work on a
+ * {@link #snapshot} taken at the start instead.
+ *
+ * Coordinates outside the board count as blocked; in wrap mode, wrap them
+ * with {@link Math#floorMod} first.
+ */
+public interface BoardView {
+
+    int cols();
+    int rows();
+    boolean isWrapMode();
+
+    int headX();
+    int headY();
+    int tailX();
+    int tailY();
+    int length();
+
+    /** Direction the snake moved in on the last tick. */
+    Direction direction();
+
+    int score();
+
+    /** Whether the snake's body occupies the cell. */
+    boolean isSnake(int x, int y);
+
+    /** Walls, traffic obstacles and cells outside the board. */
+    boolean isBlocked(int x, int y);
+
+    /** Whether entering the cell teleports the head to its paired portal. */
+    boolean isPortal(int x, int y);
+
+    boolean hasFood(int x, int y);
+
+    /** Closest food item to the cell by Manhattan distance, ignoring wrap, or null if none. */
+    Point nearestFood(int x, int y);
+
+    /**
+     * Packed copy of the whole game, O(length + food). For search bots that
+     * play ahead on a {@link burp.engine.RolloutBoard}; take it once per decision.
+     */
+    GameSnapshot snapshot();
+
+    /** A view reading the engine live, e.g. to call a bot directly in tools and benchmarks. */
+    static BoardView of(GameEngine engine) {
+        return new EngineBoardView(engine);
+    }
+}
@@ -0,0 +1,34 @@
+package burp.bot;
+
+import burp.model.Direction;
+
+/**
+ * A pluggable snake controller.
+ *
+ * Third-party bots ship in a jar that lists their implementation classes in
+ * {@code META-INF/services/burp.bot.Bot}; {@link BotLoader} finds them with
+ * {@link java.util.ServiceLoader}. Implementations need a public no-arg
+ * constructor. One instance drives one game at a time, so instances may keep
+ * per-game state, but several instances can run concurrently.
+ *
+ * Each {@link #decide} call runs on its own virtual thread against a hard
+ * deadline. A decision that misses it, returns null or throws is discarded
+ * and the bot's previous direction is replayed. Bots that loop should poll
+ * {@link Thread#interrupted()}; a late decision is interrupted.
+ */
+public interface Bot {
+
+    /** Short display name used in reports. */
+    String name();
+
+    /**
+     * Chooses the direction for the next tick.
+     *
+     * @param view live, read-only view of the board; only consistent until the deadline
+     * @return the direction to turn to; reversing into the body is ignored like a key press
+     */
+    Direction decide(BoardView view);
+
+    /** Called before each new game this instance plays. */
+    default void reset() {}
+}
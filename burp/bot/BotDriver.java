@@ -0,0 +1,176 @@
+package burp.bot;
+
+import burp.engine.GameEngine;
+import burp.model.Direction;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs one {@link Bot}'s decisions on virtual threads with a hard deadline.
+ *
+ * Call {@link #begin} right after a tick to start the next decision, then
+ * {@link #awaitDecision} right before the following tick. The wait never
+ * lasts past the decision's deadline, so a slow bot cannot delay the game: a
+ * late, crashing or silent decision replays the bot's previous direction.
+ * A decision still running when the next one should start makes that one a
+ * miss too, so a stuck bot never holds more than one thread.
+ *
+ * Not thread-safe: drive it from the thread that ticks its engine.
+ */
+public final class BotDriver implements AutoCloseable {
+
+    private static final AtomicInteger THREAD_IDS = new AtomicInteger();
+
+    private final Bot       bot;
+    private final BoardView view;
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    private Decision  current;   // started, not yet awaited
+    private Decision  straggler; // missed its deadline and is still running
+    private long      skippedUntil; // begin() found a straggler; the next await is a miss (0 = not skipped)
+    private Direction last;
+
+    // ---- Stats ----
+    private long decisions;
+    private long misses;
+    private long crashes;
+
+    public BotDriver(Bot bot, GameEngine engine) {
+        this.bot  = bot;
+        this.view = new EngineBoardView(engine);
+    }
+
+    /** Forgets the previous game's direction and tells the bot a new game starts. */
+    public void reset() {
+        if (current != null && !current.isDone()) straggler = current;
+        current      = null;
+        skippedUntil = 0;
+        last         = null;
+        bot.reset();
+    }
+
+    /** Starts deciding the next move against the engine's current state. */
+    public void begin(long deadlineNanos) {
+        if (straggler != null && straggler.isDone()) {
+            latency.record(straggler.elapsedNanos());
+            straggler = null;
+        }
+        if (straggler != null) {
+            skippedUntil = System.nanoTime() + deadlineNanos;
+            return;
+        }
+        if (current != null) return;
+        current = new Decision(deadlineNanos);
+        current.thread = Thread.ofVirtual().name("snake-bot-" + THREAD_IDS.incrementAndGet()).unstarted(current);
+        current.thread.start();
+    }
+
+    /**
+     * Waits for the decision started by {@link #begin}, at most until its deadline.
+     *
+     * @return the direction to apply, or null when the bot has not decided anything this game
+     */
+    public Direction awaitDecision() {
+        if (skippedUntil != 0) {
+            // Give the straggler this tick's budget to finish, so the next tick can start afresh;
+            // without the wait a batch run would starve it while ticking at full speed
+            straggler.awaitUntil(skippedUntil);
+            skippedUntil = 0;
+            decisions++;
+            misses++;
+            return last;
+        }
+        Decision d = current;
+        if (d == null) return last;
+        current = null;
+        decisions++;
+
+        if (!d.awaitDeadline()) {
+            misses++;
+            if (d.isDone()) {
+                latency.record(d.elapsedNanos());
+            } else {
+                d.thread.interrupt();
+                straggler = d;
+            }
+            return last;
+        }
+        latency.record(d.elapsedNanos());
+        if (d.error != null) {
+            crashes++;
+        } else if (d.direction != null) {
+            last = d.direction;
+        }
+        return last;
+    }
+
+    /** Interrupts any decision still running. */
+    @Override
+    public void close() {
+        if (current != null)   current.thread.interrupt();
+        if (straggler != null) straggler.thread.interrupt();
+        current = straggler = null;
+    }
+
+    public Bot              getBot()       { return bot; }
+    public long             getDecisions() { return decisions; }
+    public long             getMisses()    { return misses; }
+    public long             getCrashes()   { return crashes; }
+    public LatencyHistogram getLatency()   { return latency; }
+
+    // ---------------------------------------------------------------
+    // Decision
+    // ---------------------------------------------------------------
+
+    private final class Decision implements Runnable {
+        final long           startNanos = System.nanoTime();
+        final long           deadlineNanos;
+        final CountDownLatch done       = new CountDownLatch(1);
+        Thread             thread;
+        volatile long      endNanos;
+        volatile Direction direction;
+        volatile Throwable error;
+
+        Decision(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        public void run() {
+            try {
+                direction = bot.decide(view);
+            } catch (Throwable t) {
+                // Never rethrown: a late decision may fail on the live engine (see BoardView)
+                error = t;
+            } finally {
+                endNanos = System.nanoTime();
+                done.countDown();
+            }
+        }
+
+        /** @return true if the decision finished within its deadline */
+        boolean awaitDeadline() {
+            awaitUntil(startNanos + deadlineNanos);
+            return isDone() && elapsedNanos() <= deadlineNanos;
+        }
+
+        void awaitUntil(long nanoTime) {
+            long remaining = nanoTime - System.nanoTime();
+            try {
+                if (remaining > 0) done.await(remaining, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        boolean isDone() {
+            return done.getCount() == 0;
+        }
+
+        long elapsedNanos() {
+            return endNanos - startNanos;
+        }
+    }
+}
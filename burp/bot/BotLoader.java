@@ -0,0 +1,122 @@
+package burp.bot;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * Finds {@link Bot} implementations: the built-in ones plus any listed under
+ * {@code META-INF/services/burp.bot.Bot} on the classpath or in a given jar.
+ */
+public final class BotLoader {
+
+    private BotLoader() {}
+
+    /** Built-in bots and any on the extension's own classpath; the planner searches on the common pool. */
+    public static List<BotFactory> builtIn() {
+        return builtIn(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Built-in bots and any on the extension's own classpath, with the
+     * Monte-Carlo planner searching on the given pool. Inside Burp the common
+     * pool is shared with Burp and every other extension, so the tab passes
+     * its own.
+     */
+    public static List<BotFactory> builtIn(ForkJoinPool plannerPool) {
+        List<BotFactory> bots = new ArrayList<>();
+        bots.add(new BotFactory("Greedy", GreedyBot::new));
+        bots.add(new BotFactory("MonteCarlo",
+                () -> new MonteCarloBot(MonteCarloBot.DEFAULT_BUDGET_NANOS, plannerPool)));
+        collect(ServiceLoader.load(Bot.class, BotLoader.class.getClassLoader()), bots);
+        return bots;
+    }
+
+    /**
+     * Bots declared by a jar. The jar's class loader stays open until one of
+     * the returned factories is {@linkplain BotFactory#close() closed}.
+     *
+     * @throws IOException if the jar is unreadable or declares a bot that cannot be loaded
+     */
+    public static List<BotFactory> fromJar(Path jar) throws IOException {
+        if (!Files.isReadable(jar)) throw new IOException("Cannot read " + jar);
+        URLClassLoader loader = new URLClassLoader(new URL[] {jar.toUri().toURL()},
+                                                   BotLoader.class.getClassLoader());
+        List<BotFactory> bots = new ArrayList<>();
+        try {
+            // Only providers from the jar itself, not the parent's
+            for (ServiceLoader.Provider<Bot> p : ServiceLoader.load(Bot.class, loader).stream().toList()) {
+                if (p.type().getClassLoader() == loader) bots.add(factoryOf(p, loader));
+            }
+        } catch (RuntimeException | ServiceConfigurationError e) { // includes a throwing constructor or name()
+            loader.close();
+            throw new IOException("Invalid bot in " + jar.getFileName() + ": " + e, e);
+        }
+        if (bots.isEmpty()) {
+            loader.close();
+            throw new IOException("No bots declared in " + jar.getFileName()
+                    + " (expected META-INF/services/" + Bot.class.getName() + ")");
+        }
+        return bots;
+    }
+
+    private static void collect(ServiceLoader<Bot> services, List<BotFactory> out) {
+        try {
+            for (ServiceLoader.Provider<Bot> p : services.stream().toList()) {
+                out.add(factoryOf(p, null));
+            }
+        } catch (RuntimeException | ServiceConfigurationError e) {
+            // A broken classpath entry must not hide the built-in bots
+        }
+    }
+
+    private static BotFactory factoryOf(ServiceLoader.Provider<Bot> provider, URLClassLoader loader) {
+        return new BotFactory(provider.get().name(), provider, loader);
+    }
+
+    /** A named source of fresh bot instances. */
+    public static final class BotFactory {
+        private final String name;
+        private final Supplier<? extends Bot> supplier;
+        private final URLClassLoader loader; // the jar's, null for bots on the extension's classpath
+
+        public BotFactory(String name, Supplier<? extends Bot> supplier) {
+            this(name, supplier, null);
+        }
+
+        private BotFactory(String name, Supplier<? extends Bot> supplier, URLClassLoader loader) {
+            this.name     = name;
+            this.supplier = supplier;
+            this.loader   = loader;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Bot newInstance() {
+            return supplier.get();
+        }
+
+        /**
+         * Closes the jar this bot came from, and with it every factory from
+         * the same jar. No-op for built-in bots.
+         */
+        public void close() throws IOException {
+            if (loader != null) loader.close();
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package burp.bot;
+
+import burp.engine.GameEngine;
+import burp.model.Direction;
+import burp.model.GameState;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Plays batches of headless games per bot for fair comparison.
+ *
+ * Every bot plays the same seeds, so game {@code i} starts from the same
+ * board for all of them, under the same deadline and tick cap. Games run on
+ * a few worker threads, each with its own bot instance and driver; decisions
+ * still run on virtual threads exactly as in live play.
+ */
+public final class BotRace {
+
+    public static final long DEFAULT_DEADLINE_NANOS = 5_000_000L; // 5ms
+
+    private final int     games;
+    private final int     maxTicks;
+    private final long    deadlineNanos;
+    private final int     workers;
+    private final long    seed;
+    private final boolean wrapMode;
+
+    /**
+     * @param maxTicks tick cap per game, so a bot that only circles still finishes
+     * @param workers  games played at once
+     */
+    public BotRace(int games, int maxTicks, long deadlineNanos, int workers, long seed, boolean wrapMode) {
+        if (games <= 0 || maxTicks <= 0 || deadlineNanos <= 0 || workers <= 0) {
+            throw new IllegalArgumentException("Race parameters must be positive");
+        }
+        this.games         = games;
+        this.maxTicks      = maxTicks;
+        this.deadlineNanos = deadlineNanos;
+        this.workers       = workers;
+        this.seed          = seed;
+        this.wrapMode      = wrapMode;
+    }
+
+    /** Races each bot in turn, so they never compete with each other for CPU. */
+    public List<BotReport> race(List<BotLoader.BotFactory> bots) throws InterruptedException {
+        List<BotReport> reports = new ArrayList<>();
+        for (BotLoader.BotFactory bot : bots) {
+            reports.add(run(bot));
+        }
+        return reports;
+    }
+
+    public BotReport run(BotLoader.BotFactory factory) throws InterruptedException {
+        Thread.ofVirtual().start(() -> {}).join(); // start the virtual-thread scheduler outside any deadline
+        AtomicInteger nextGame = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "snake-bot-race");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<Worker>> futures = new ArrayList<>();
+            for (int w = 0; w < workers; w++) {
+                futures.add(pool.submit(() -> {
+                    Worker worker = new Worker(factory.newInstance());
+                    try {
+                        int g;
+                        while ((g = nextGame.getAndIncrement()) < games) {
+                            worker.play(seed + g);
+                        }
+                    } finally {
+                        worker.driver.close();
+                    }
+                    return worker;
+                }));
+            }
+
+            long totalScore = 0, totalTicks = 0, decisions = 0, misses = 0, crashes = 0;
+            int bestScore = 0;
+            LatencyHistogram latency = new LatencyHistogram();
+            for (Future<Worker> f : futures) {
+                Worker w = f.get();
+                totalScore += w.totalScore;
+                totalTicks += w.totalTicks;
+                bestScore   = Math.max(bestScore, w.bestScore);
+                decisions  += w.driver.getDecisions();
+                misses     += w.driver.getMisses();
+                crashes    += w.driver.getCrashes();
+                latency.add(w.driver.getLatency());
+            }
+            return new BotReport(factory.getName(), games, totalScore, bestScore, totalTicks,
+                                 decisions, misses, crashes, latency);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Race failed for " + factory.getName(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** One worker thread's engine, driver and running totals. */
+    private final class Worker {
+        final BotDriver  driver;
+        final GameEngine engine;
+        long totalScore;
+        long totalTicks;
+        int  bestScore;
+
+        Worker(Bot bot) {
+            this.engine = new GameEngine(); // reused and reseeded per game
+            this.driver = new BotDriver(bot, engine);
+        }
+
+        void play(long gameSeed) {
+            engine.setSeed(gameSeed);
+            engine.setWrapMode(wrapMode);
+            engine.startNewGame();
+            driver.reset();
+            int ticks = 0;
+            while (ticks < maxTicks && engine.getState() == GameState.RUNNING) {
+                driver.begin(deadlineNanos);
+                Direction d = driver.awaitDecision();
+                if (d != null) engine.setDesiredDirection(d);
+                engine.tick();
+                ticks++;
+            }
+            totalScore += engine.getScore();
+            totalTicks += ticks;
+            bestScore   = Math.max(bestScore, engine.getScore());
+        }
+    }
+
+    /**
+     * Races the built-in bots and every bot in the given jars, printing one line per bot.
+     * Arguments: jar paths.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        List<BotLoader.BotFactory> bots = new ArrayList<>(BotLoader.builtIn());
+        for (String jar : args) {
+            bots.addAll(BotLoader.fromJar(Path.of(jar)));
+        }
+        BotRace race = new BotRace(1_000, 5_000, DEFAULT_DEADLINE_NANOS,
+                                   Math.max(1, Runtime.getRuntime().availableProcessors() / 2), 1L, false);
+        for (BotReport r : race.race(bots)) {
+            System.out.println(r);
+        }
+    }
+}
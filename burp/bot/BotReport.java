@@ -0,0 +1,54 @@
+package burp.bot;
+
+/** Results of one bot's batch of games in a {@link BotRace}. */
+public final class BotReport {
+
+    private final String name;
+    private final int    games;
+    private final long   totalScore;
+    private final int    bestScore;
+    private final long   totalTicks;
+    private final long   decisions;
+    private final long   misses;
+    private final long   crashes;
+    private final LatencyHistogram latency;
+
+    BotReport(String name, int games, long totalScore, int bestScore, long totalTicks,
+              long decisions, long misses, long crashes, LatencyHistogram latency) {
+        this.name       = name;
+        this.games      = games;
+        this.totalScore = totalScore;
+        this.bestScore  = bestScore;
+        this.totalTicks = totalTicks;
+        this.decisions  = decisions;
+        this.misses     = misses;
+        this.crashes    = crashes;
+        this.latency    = latency;
+    }
+
+    public String getName()       { return name; }
+    public int    getGames()      { return games; }
+    public double getMeanScore()  { return games == 0 ? 0 : (double) totalScore / games; }
+    public int    getBestScore()  { return bestScore; }
+    public double getMeanTicks()  { return games == 0 ? 0 : (double) totalTicks / games; }
+    public long   getDecisions()  { return decisions; }
+    public long   getMisses()     { return misses; }
+    public long   getCrashes()    { return crashes; }
+
+    /** Decision latency at the given percentile in microseconds, late decisions included. */
+    public double getLatencyMicros(double percentile) {
+        return latency.percentile(percentile) / 1e3;
+    }
+
+    public double getMaxLatencyMicros() {
+        return latency.getMaxNanos() / 1e3;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-16s games=%d mean=%.1f best=%d ticks=%.0f decisions=%d misses=%d crashes=%d"
+                        + " p50=%.1fus p90=%.1fus p99=%.1fus max=%.1fus",
+                name, games, getMeanScore(), bestScore, getMeanTicks(), decisions, misses, crashes,
+                getLatencyMicros(50), getLatencyMicros(90), getLatencyMicros(99), getMaxLatencyMicros());
+    }
+}
@@ -0,0 +1,81 @@
+package burp.bot;
+
+import burp.engine.GameEngine;
+import burp.engine.GameSnapshot;
+import burp.model.Direction;
+import burp.model.Food;
+import burp.model.FoodField;
+import burp.model.LevelMap;
+import burp.model.ObstacleField;
+import burp.model.Point;
+import burp.model.Snake;
+
+/** {@link BoardView} backed directly by a {@link GameEngine}. */
+final class EngineBoardView implements BoardView {
+
+    private final GameEngine engine;
+
+    EngineBoardView(GameEngine engine) {
+        this.engine = engine;
+    }
+
+    @Override public int     cols()       { return engine.getCols(); }
+    @Override public int     rows()       { return engine.getRows(); }
+    @Override public boolean isWrapMode() { return engine.isWrapMode(); }
+    @Override public int     headX()      { return engine.getSnake().getHead().x; }
+    @Override public int     headY()      { return engine.getSnake().getHead().y; }
+    @Override public int     tailX()      { return engine.getSnake().getTail().x; }
+    @Override public int     tailY()      { return engine.getSnake().getTail().y; }
+    @Override public int     length()     { return engine.getSnake().length(); }
+    @Override public int     score()      { return engine.getScore(); }
+
+    @Override
+    public Direction direction() {
+        return engine.getSnake().getCurrentDirection();
+    }
+
+    @Override
+    public boolean isSnake(int x, int y) {
+        Snake snake = engine.getSnake();
+        return snake != null && snake.contains(x, y);
+    }
+
+    @Override
+    public boolean isBlocked(int x, int y) {
+        LevelMap level = engine.getLevel();
+        if (x < 0 || y < 0 || x >= level.getCols() || y >= level.getRows()) return true;
+        ObstacleField obstacles = engine.getObstacles();
+        return level.isBlocked(x, y) || (obstacles != null && obstacles.contains(x, y));
+    }
+
+    @Override
+    public boolean isPortal(int x, int y) {
+        LevelMap level = engine.getLevel();
+        return x >= 0 && y >= 0 && x < level.getCols() && y < level.getRows() && level.isPortal(x, y);
+    }
+
+    @Override
+    public boolean hasFood(int x, int y) {
+        FoodField field = engine.getFoodField();
+        if (field != null) return field.itemAt(x, y) >= 0;
+        Food food = engine.getFood();
+        return food != null && food.getPosition() != null
+                && food.getPosition().x == x && food.getPosition().y == y;
+    }
+
+    @Override
+    public GameSnapshot snapshot() {
+        return engine.snapshot();
+    }
+
+    @Override
+    public Point nearestFood(int x, int y) {
+        FoodField field = engine.getFoodField();
+        if (field != null) {
+            int id = field.nearest(x, y);
+            return id < 0 ? null : new Point(field.getX(id), field.getY(id));
+        }
+        Food food = engine.getFood();
+        return food != null ? food.getPosition() : null;
+    }
+}
@@ -0,0 +1,45 @@
+package burp.bot;
+
+import burp.model.Direction;
+import burp.model.Point;
+
+/**
+ * Built-in reference bot: steps toward the nearest food, avoiding any cell
+ * that would end the game this tick. Keeps going straight when boxed in.
+ */
+public class GreedyBot implements Bot {
+
+    @Override
+    public String name() {
+        return "Greedy";
+    }
+
+    @Override
+    public Direction decide(BoardView view) {
+        int hx = view.headX();
+        int hy = view.headY();
+        Point target = view.nearestFood(hx, hy);
+
+        Direction best = view.direction();
+        int bestDist = Integer.MAX_VALUE;
+        for (Direction d : Direction.values()) {
+            if (d.isOpposite(view.direction())) continue;
+            int nx = hx + d.dx;
+            int ny = hy + d.dy;
+            if (view.isWrapMode()) {
+                nx = Math.floorMod(nx, view.cols());
+                ny = Math.floorMod(ny, view.rows());
+            }
+            if (view.isBlocked(nx, ny)) continue;
+            // Moving onto the tail is safe: it moves away this tick
+            if (view.isSnake(nx, ny) && !(nx == view.tailX() && ny == view.tailY())) continue;
+
+            int dist = target == null ? 0 : Math.abs(target.x - nx) + Math.abs(target.y - ny);
+            if (dist < bestDist) {
+                bestDist = dist;
+                best = d;
+            }
+        }
+        return best;
+    }
+}
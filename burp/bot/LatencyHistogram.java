@@ -0,0 +1,71 @@
+package burp.bot;
+
+/**
+ * Fixed-size log-linear histogram of durations in nanoseconds.
+ *
+ * Each power of two is split into 16 sub-buckets, so percentiles are within
+ * about 6% of the true value at any scale, in 8 KB no matter how many
+ * samples are recorded. Not thread-safe; merge per-thread histograms instead.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS  = 4;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    private final long[] counts = new long[64 * SUB_COUNT];
+    private long total;
+    private long max;
+    private long sum;
+
+    public void record(long nanos) {
+        long v = Math.max(0, nanos);
+        counts[indexOf(v)]++;
+        total++;
+        sum += v;
+        if (v > max) max = v;
+    }
+
+    /** Adds every sample of {@code other} to this histogram. */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        sum   += other.sum;
+        max    = Math.max(max, other.max);
+    }
+
+    /**
+     * Upper bound of the bucket holding the given percentile.
+     *
+     * @param percentile in [0, 100]
+     * @return nanoseconds, or 0 when empty
+     */
+    public long percentile(double percentile) {
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(upperBoundOf(i), max);
+        }
+        return max;
+    }
+
+    public long   getCount()     { return total; }
+    public long   getMaxNanos()  { return max; }
+    public double getMeanNanos() { return total == 0 ? 0 : (double) sum / total; }
+
+    private static int indexOf(long v) {
+        if (v < SUB_COUNT) return (int) v;
+        int shift = 63 - Long.numberOfLeadingZeros(v) - SUB_BITS;
+        return ((shift + 1) << SUB_BITS) + (int) ((v >>> shift) & (SUB_COUNT - 1));
+    }
+
+    private static long upperBoundOf(int index) {
+        if (index < SUB_COUNT) return index;
+        int shift = (index >> SUB_BITS) - 1;
+        long lower = (long) (SUB_COUNT + (index & (SUB_COUNT - 1))) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,234 @@
+package burp.bot;
+
+import burp.engine.GameSnapshot;
+import burp.engine.RolloutBoard;
+import burp.model.Direction;
+import burp.model.Point;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Lookahead bot: plays short randomized rollouts from the current position
+ * for each of the three legal moves and picks the move with the best mean
+ * outcome, rewarding survival and food eaten and penalising death.
+ *
+ * Rollouts run as one task per fork-join pool thread until the time budget
+ * is spent. Each task owns one of the bot's {@link RolloutBoard}s, loaded once
+ * per decision from a single snapshot and rewound from its undo log after
+ * every rollout, so the snake is never copied per rollout. Boards belong to
+ * the bot rather than to pool threads, so a shared pool keeps nothing of an
+ * unloaded extension.
+ *
+ * Rollout moves mostly head for the food nearest the snake at decision time
+ * and are random otherwise, never stepping into an immediate death while
+ * another move survives. Rollouts that survive without eating are ranked by
+ * how close they end to that food.
+ */
+public final class MonteCarloBot implements Bot {
+
+    public static final long DEFAULT_BUDGET_NANOS = 3_000_000L; // fits BotRace's 5ms deadline
+
+    private static final int    DEPTH           = 48;
+    private static final double FOOD_REWARD     = 2;  // per point of food value and per step it is eaten early
+    private static final double DEATH_PENALTY   = 100;
+    private static final double DISTANCE_WEIGHT = 1;
+    private static final int    GREEDY_IN_FOUR  = 3; // rollout moves that head for the food, out of four
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final long           budgetNanos;
+    private final ForkJoinPool   pool;
+    private final RolloutBoard[] boards; // one per concurrent task, reused across decisions
+
+    // ---- Stats ----
+    private final double[] lastValues = new double[DIRECTIONS.length];
+    private long decisions;
+    private long rollouts;
+    private long searchNanos;
+
+    /**
+     * Uses {@link #DEFAULT_BUDGET_NANOS} on the common pool; the no-arg
+     * constructor bots need. The tab passes its own pool instead (see
+     * {@link BotLoader#builtIn(ForkJoinPool)}).
+     */
+    public MonteCarloBot() {
+        this(DEFAULT_BUDGET_NANOS, ForkJoinPool.commonPool());
+    }
+
+    public MonteCarloBot(long budgetNanos, ForkJoinPool pool) {
+        if (budgetNanos <= 0) throw new IllegalArgumentException("Budget must be positive: " + budgetNanos);
+        this.budgetNanos = budgetNanos;
+        this.pool        = pool;
+        this.boards      = new RolloutBoard[Math.max(1, pool.getParallelism())];
+        for (int i = 0; i < boards.length; i++) boards[i] = new RolloutBoard();
+    }
+
+    @Override
+    public String name() {
+        return "MonteCarlo";
+    }
+
+    @Override
+    public Direction decide(BoardView view) {
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        GameSnapshot root = view.snapshot();
+        if (root.length() == 0) return view.direction();
+        Point target = view.nearestFood(view.headX(), view.headY());
+        int targetX = target == null ? -1 : target.x;
+        int targetY = target == null ? -1 : target.y;
+
+        List<Callable<Tally>> tasks = new ArrayList<>(boards.length);
+        for (RolloutBoard board : boards) {
+            tasks.add(() -> search(board, root, deadline, targetX, targetY));
+        }
+
+        Tally total = new Tally();
+        try {
+            for (Future<Tally> f : pool.invokeAll(tasks)) {
+                total.add(f.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Rollout failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null; // late anyway; the driver replays the last move
+        }
+
+        Direction current = view.direction();
+        Direction best = current;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (Direction d : DIRECTIONS) {
+            int i = d.ordinal();
+            lastValues[i] = total.count[i] == 0 ? Double.NaN : total.reward[i] / total.count[i];
+            if (d.isOpposite(current) || total.count[i] == 0) continue;
+            if (lastValues[i] > bestValue) {
+                bestValue = lastValues[i];
+                best = d;
+            }
+        }
+        decisions++;
+        rollouts    += total.rollouts();
+        searchNanos += System.nanoTime() - start;
+        return best;
+    }
+
+    // ---------------------------------------------------------------
+    // Rollouts (pool threads)
+    // ---------------------------------------------------------------
+
+    private static Tally search(RolloutBoard board, GameSnapshot root, long deadline, int targetX, int targetY) {
+        board.load(root, DEPTH + 1);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Direction rootDir = board.direction();
+        Tally tally = new Tally();
+        do {
+            for (Direction first : DIRECTIONS) {
+                if (first.isOpposite(rootDir)) continue;
+                tally.record(first.ordinal(), rollout(board, first, random, targetX, targetY));
+                board.rewind();
+            }
+        } while (System.nanoTime() < deadline);
+        return tally;
+    }
+
+    private static double rollout(RolloutBoard board, Direction first, ThreadLocalRandom random,
+                                  int targetX, int targetY) {
+        int value = board.step(first);
+        if (value == RolloutBoard.DIED) return -DEATH_PENALTY;
+        double reward = FOOD_REWARD * value * DEPTH;
+        boolean fed = value > 0;
+        for (int t = 1; t < DEPTH; t++) {
+            Direction d = pick(board, random, targetX, targetY);
+            value = board.step(d);
+            if (value == RolloutBoard.DIED) {
+                value = stepAnySafe(board, d);
+                if (value == RolloutBoard.DIED) return reward + t - DEATH_PENALTY;
+            }
+            reward += FOOD_REWARD * value * (DEPTH - t); // food found sooner is worth more
+            fed |= value > 0;
+        }
+        if (!fed && targetX >= 0) {
+            // Unfed survivors still rank by how close they ended to the food
+            reward -= DISTANCE_WEIGHT * (Math.abs(board.headX() - targetX) + Math.abs(board.headY() - targetY));
+        }
+        return reward + DEPTH;
+    }
+
+    private static Direction pick(RolloutBoard board, ThreadLocalRandom random, int targetX, int targetY) {
+        Direction current = board.direction();
+        if (targetX < 0 || random.nextInt(4) >= GREEDY_IN_FOUR) {
+            Direction d = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+            return d.isOpposite(current) ? current : d;
+        }
+        int hx = board.headX();
+        int hy = board.headY();
+        if (hx != targetX) {
+            Direction d = hx < targetX ? Direction.RIGHT : Direction.LEFT;
+            if (!d.isOpposite(current)) return d;
+        }
+        if (hy != targetY) {
+            Direction d = hy < targetY ? Direction.DOWN : Direction.UP;
+            if (!d.isOpposite(current)) return d;
+        }
+        return current;
+    }
+
+    /** Tries the other legal moves after {@code failed} died. */
+    private static int stepAnySafe(RolloutBoard board, Direction failed) {
+        Direction current = board.direction();
+        for (Direction d : DIRECTIONS) {
+            if (d == failed || d.isOpposite(current)) continue;
+            int value = board.step(d);
+            if (value != RolloutBoard.DIED) return value;
+        }
+        return RolloutBoard.DIED;
+    }
+
+    // ---------------------------------------------------------------
+    // Stats
+    // ---------------------------------------------------------------
+
+    public long getDecisions() { return decisions; }
+    public long getRollouts()  { return rollouts; }
+
+    /** Rollouts completed per second of decision time, over all decisions so far. */
+    public double getRolloutsPerSecond() {
+        return searchNanos == 0 ? 0 : rollouts * 1e9 / searchNanos;
+    }
+
+    /** Mean rollout reward of a move in the last decision, NaN for a move not tried. */
+    public double getLastValue(Direction d) {
+        return lastValues[d.ordinal()];
+    }
+
+    /** Per-move reward sums from one pool thread. */
+    private static final class Tally {
+        final double[] reward = new double[DIRECTIONS.length];
+        final long[]   count  = new long[DIRECTIONS.length];
+
+        void record(int move, double r) {
+            reward[move] += r;
+            count[move]++;
+        }
+
+        void add(Tally other) {
+            for (int i = 0; i < reward.length; i++) {
+                reward[i] += other.reward[i];
+                count[i]  += other.count[i];
+            }
+        }
+
+        long rollouts() {
+            long n = 0;
+            for (long c : count) n += c;
+            return n;
+        }
+    }
+}
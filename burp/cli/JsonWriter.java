@@ -0,0 +1,118 @@
+package burp.cli;
+
+/**
+ * Minimal streaming JSON writer for the command-line reports: objects,
+ * arrays, strings, numbers and booleans, with commas inserted as needed.
+ * Non-finite numbers are written as null.
+ */
+final class JsonWriter {
+
+    private final StringBuilder out = new StringBuilder();
+    private boolean first = true; // nothing written yet in the current object or array
+
+    JsonWriter beginObject() {
+        separate();
+        out.append('{');
+        first = true;
+        return this;
+    }
+
+    JsonWriter endObject() {
+        out.append('}');
+        first = false;
+        return this;
+    }
+
+    JsonWriter beginArray() {
+        separate();
+        out.append('[');
+        first = true;
+        return this;
+    }
+
+    JsonWriter endArray() {
+        out.append(']');
+        first = false;
+        return this;
+    }
+
+    /** Writes a member name; the next value or container is its value. */
+    JsonWriter name(String name) {
+        separate();
+        string(name);
+        out.append(':');
+        first = true; // the value follows without a comma
+        return this;
+    }
+
+    JsonWriter value(String value) {
+        separate();
+        if (value == null) {
+            out.append("null");
+        } else {
+            string(value);
+        }
+        return this;
+    }
+
+    JsonWriter value(double value) {
+        separate();
+        if (!Double.isFinite(value)) {
+            out.append("null");
+        } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        return this;
+    }
+
+    JsonWriter value(long value) {
+        separate();
+        out.append(value);
+        return this;
+    }
+
+    JsonWriter value(boolean value) {
+        separate();
+        out.append(value);
+        return this;
+    }
+
+    JsonWriter member(String name, String value)  { return name(name).value(value); }
+    JsonWriter member(String name, double value)  { return name(name).value(value); }
+    JsonWriter member(String name, long value)    { return name(name).value(value); }
+    JsonWriter member(String name, boolean value) { return name(name).value(value); }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+
+    private void separate() {
+        if (!first) out.append(',');
+        first = false;
+    }
+
+    private void string(String s) {
+        out.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"'  -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default   -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,316 @@
+package burp.cli;
+
+import burp.bench.BenchResult;
+import burp.bench.Benchmarks;
+import burp.bot.Bot;
+import burp.bot.BoardView;
+import burp.bot.BotLoader;
+import burp.bot.LatencyHistogram;
+import burp.engine.GameEngine;
+import burp.engine.Replay;
+import burp.model.Direction;
+import burp.model.GameState;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Headless entry point (the jar's {@code Main-Class}), for build agents and
+ * scripted runs. Needs neither the Burp API nor a display; every command
+ * prints one JSON object on stdout. Scenarios that drive the Burp tab need the
+ * API jar as an explicit class-path entry and are reported as skipped without it.
+ *
+ * <pre>
+ * simulate [--bot NAME] [--jar PATH] [--games N] [--seed S] [--max-ticks N]
+ *          [--wrap] [--food N] [--record DIR]
+ * verify   REPLAY...
+ * bench    [SCENARIO...]
+ * </pre>
+ *
+ * Exit status is 0 on success, 1 when a replay fails verification or a
+ * scenario fails, and 2 for bad arguments.
+ */
+public final class SnakeCli {
+
+    private static final String USAGE = String.join("\n",
+            "Usage: java -jar snake-burp.jar <command> [options]",
+            "  simulate [--bot NAME] [--jar PATH] [--games N] [--seed S] [--max-ticks N]",
+            "           [--wrap] [--food N] [--record DIR]",
+            "                        seeded batch of bot games; --record saves one replay per game",
+            "  verify REPLAY...      replays recorded games and checks them tick for tick",
+            "  bench [SCENARIO...]   built-in performance scenarios (all by default)");
+
+    private static final String[] PERCENTILES = {"p50", "p90", "p99"};
+
+    private SnakeCli() {}
+
+    public static void main(String[] args) {
+        if (System.getProperty("java.awt.headless") == null) {
+            System.setProperty("java.awt.headless", "true"); // before anything touches AWT
+        }
+        int status;
+        try {
+            status = run(args, System.out);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            status = 2;
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+            status = 1;
+        }
+        System.exit(status);
+    }
+
+    /** Runs one command, printing its report. @return the exit status */
+    static int run(String[] args, PrintStream out) throws IOException {
+        if (args.length == 0) throw new IllegalArgumentException("No command given");
+        List<String> rest = List.of(args).subList(1, args.length);
+        switch (args[0]) {
+            case "simulate": return simulate(new Options(rest), out);
+            case "verify":   return verify(rest, out);
+            case "bench":    return bench(rest, out);
+            default: throw new IllegalArgumentException("Unknown command: " + args[0]);
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // simulate
+    // ---------------------------------------------------------------
+
+    /**
+     * Plays seeded games with one bot. The bot decides on the calling thread
+     * with no deadline, so a deterministic bot gives identical games for the
+     * same seed; decision and tick latency are reported separately.
+     */
+    private static int simulate(Options options, PrintStream out) throws IOException {
+        int     games    = options.intValue("games", 100);
+        long    seed     = options.longValue("seed", 1);
+        int     maxTicks = options.intValue("max-ticks", 5_000);
+        int     food     = options.intValue("food", 1);
+        boolean wrap     = options.flag("wrap");
+        String  record   = options.value("record", null);
+        BotLoader.BotFactory factory = findBot(options.value("bot", "Greedy"), options.value("jar", null));
+        options.checkAllUsed();
+        if (games <= 0 || maxTicks <= 0) throw new IllegalArgumentException("--games and --max-ticks must be positive");
+        Path replayDir = record != null ? Files.createDirectories(Path.of(record)) : null;
+
+        Bot bot = factory.newInstance();
+        GameEngine engine = new GameEngine();
+        engine.setWrapMode(wrap);
+        engine.setFoodCount(food);
+        BoardView view = BoardView.of(engine);
+        LatencyHistogram decisions = new LatencyHistogram();
+        LatencyHistogram tickTimes = new LatencyHistogram();
+        long totalScore = 0, totalTicks = 0;
+        int bestScore = 0, deaths = 0;
+
+        long start = System.nanoTime();
+        for (int g = 0; g < games; g++) {
+            engine.setSeed(seed + g);
+            engine.startNewGame();
+            Replay.Recorder recorder = replayDir != null ? Replay.record(engine) : null;
+            int ticks = 0;
+            while (ticks < maxTicks && engine.getState() == GameState.RUNNING) {
+                long t0 = System.nanoTime();
+                Direction d = bot.decide(view);
+                long t1 = System.nanoTime();
+                if (recorder != null) {
+                    recorder.tick(d);
+                } else {
+                    if (d != null) engine.setDesiredDirection(d);
+                    engine.tick();
+                }
+                decisions.record(t1 - t0);
+                tickTimes.record(System.nanoTime() - t1);
+                ticks++;
+            }
+            if (recorder != null) recorder.finish().write(replayDir.resolve("game-" + (seed + g) + ".snkr"));
+            totalScore += engine.getScore();
+            totalTicks += ticks;
+            bestScore   = Math.max(bestScore, engine.getScore());
+            if (engine.getState() == GameState.GAME_OVER) deaths++;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        JsonWriter json = new JsonWriter().beginObject()
+                .member("command", "simulate")
+                .member("bot", factory.getName())
+                .member("games", games)
+                .member("seed", seed)
+                .member("wrap", wrap)
+                .member("food", food)
+                .member("max_ticks", maxTicks)
+                .member("mean_score", (double) totalScore / games)
+                .member("best_score", bestScore)
+                .member("deaths", deaths)
+                .member("mean_ticks", (double) totalTicks / games)
+                .member("seconds", seconds)
+                .member("ticks_per_sec", totalTicks / seconds)
+                .member("games_per_sec", games / seconds);
+        latency(json, "decision_us", decisions);
+        latency(json, "tick_us", tickTimes);
+        if (replayDir != null) json.member("replays", replayDir.toString());
+        out.println(json.endObject());
+        return 0;
+    }
+
+    private static BotLoader.BotFactory findBot(String name, String jar) throws IOException {
+        List<BotLoader.BotFactory> bots = new ArrayList<>(BotLoader.builtIn());
+        if (jar != null) bots.addAll(BotLoader.fromJar(Path.of(jar)));
+        List<String> names = new ArrayList<>();
+        for (BotLoader.BotFactory f : bots) {
+            if (f.getName().equalsIgnoreCase(name)) return f;
+            names.add(f.getName());
+        }
+        throw new IllegalArgumentException("Unknown bot " + name + "; available: " + String.join(", ", names));
+    }
+
+    private static void latency(JsonWriter json, String name, LatencyHistogram h) {
+        json.name(name).beginObject().member("mean", h.getMeanNanos() / 1e3);
+        for (String p : PERCENTILES) {
+            json.member(p, h.percentile(Double.parseDouble(p.substring(1))) / 1e3);
+        }
+        json.member("max", h.getMaxNanos() / 1e3).endObject();
+    }
+
+    // ---------------------------------------------------------------
+    // verify
+    // ---------------------------------------------------------------
+
+    private static int verify(List<String> files, PrintStream out) {
+        if (files.isEmpty()) throw new IllegalArgumentException("No replay files given");
+        JsonWriter json = new JsonWriter().beginObject().member("command", "verify");
+        json.name("replays").beginArray();
+        int failed = 0;
+        long totalTicks = 0, totalNanos = 0;
+        for (String file : files) {
+            json.beginObject().member("file", file);
+            try {
+                Replay replay = Replay.read(Path.of(file));
+                long t0 = System.nanoTime();
+                int mismatch = replay.verify();
+                long nanos = System.nanoTime() - t0;
+                totalTicks += replay.getTicks();
+                totalNanos += nanos;
+                json.member("ticks", replay.getTicks())
+                    .member("score", replay.getFinalScore())
+                    .member("ok", mismatch < 0);
+                if (mismatch >= 0) {
+                    json.member("first_mismatch_tick", mismatch);
+                    failed++;
+                }
+                json.member("ms", nanos / 1e6);
+            } catch (IOException e) {
+                json.member("ok", false).member("error", e.getMessage());
+                failed++;
+            }
+            json.endObject();
+        }
+        json.endArray()
+            .member("failed", failed)
+            .member("ticks_per_sec", totalNanos == 0 ? 0 : totalTicks * 1e9 / totalNanos);
+        out.println(json.endObject());
+        return failed == 0 ? 0 : 1;
+    }
+
+    // ---------------------------------------------------------------
+    // bench
+    // ---------------------------------------------------------------
+
+    private static int bench(List<String> names, PrintStream out) {
+        Map<String, Benchmarks.Scenario> byName = new HashMap<>();
+        for (Benchmarks.Scenario s : Benchmarks.all()) byName.put(s.getName(), s);
+        List<Benchmarks.Scenario> selected = new ArrayList<>();
+        if (names.isEmpty()) selected.addAll(Benchmarks.all());
+        for (String name : names) {
+            Benchmarks.Scenario s = byName.get(name);
+            if (s == null) throw new IllegalArgumentException("Unknown scenario " + name + "; available: "
+                    + String.join(", ", byName.keySet()));
+            selected.add(s);
+        }
+
+        JsonWriter json = new JsonWriter().beginObject().member("command", "bench");
+        json.name("scenarios").beginArray();
+        int failed = 0, skipped = 0;
+        for (Benchmarks.Scenario s : selected) {
+            json.beginObject().member("name", s.getName());
+            if (!s.isRunnable()) {
+                json.member("skipped", "needs the Burp API on the classpath");
+                skipped++;
+            } else {
+                try {
+                    long t0 = System.nanoTime();
+                    BenchResult result = s.run();
+                    json.member("seconds", (System.nanoTime() - t0) / 1e9);
+                    json.name("metrics").beginObject();
+                    result.getMetrics().forEach(json::member);
+                    json.endObject();
+                } catch (RuntimeException | LinkageError e) { // LinkageError: classes missing from a partial classpath
+                    json.member("error", String.valueOf(e));
+                    failed++;
+                }
+            }
+            json.endObject();
+        }
+        json.endArray().member("failed", failed).member("skipped", skipped);
+        out.println(json.endObject());
+        return failed == 0 ? 0 : 1;
+    }
+
+    // ---------------------------------------------------------------
+    // Options
+    // ---------------------------------------------------------------
+
+    /** {@code --name value} and {@code --flag} options; every given option must be read. */
+    private static final class Options {
+        private final Map<String, String> values = new HashMap<>();
+
+        Options(List<String> args) {
+            for (int i = 0; i < args.size(); i++) {
+                String arg = args.get(i);
+                if (!arg.startsWith("--")) throw new IllegalArgumentException("Unexpected argument: " + arg);
+                String name = arg.substring(2);
+                boolean hasValue = i + 1 < args.size() && !args.get(i + 1).startsWith("--");
+                values.put(name, hasValue ? args.get(++i) : null);
+            }
+        }
+
+        String value(String name, String fallback) {
+            if (!values.containsKey(name)) return fallback;
+            String v = values.remove(name);
+            if (v == null) throw new IllegalArgumentException("--" + name + " needs a value");
+            return v;
+        }
+
+        boolean flag(String name) {
+            if (!values.containsKey(name)) return false;
+            if (values.remove(name) != null) throw new IllegalArgumentException("--" + name + " takes no value");
+            return true;
+        }
+
+        int intValue(String name, int fallback) {
+            return (int) longValue(name, fallback);
+        }
+
+        long longValue(String name, long fallback) {
+            String v = value(name, null);
+            if (v == null) return fallback;
+            try {
+                return Long.parseLong(v);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("--" + name + " expects a number: " + v);
+            }
+        }
+
+        void checkAllUsed() {
+            if (!values.isEmpty()) throw new IllegalArgumentException("Unknown option: --" + values.keySet().iterator().next());
+        }
+    }
+}
@@ -3,15 +3,26 @@ package burp.engine;
 import burp.model.Difficulty;
 import burp.model.Direction;
 import burp.model.Food;
+import burp.model.FoodField;
+import burp.model.FoodType;
 import burp.model.GameState;
+import burp.model.LevelMap;
+import burp.model.ObstacleField;
+import burp.model.OccupancyPyramid;
 import burp.model.Point;
 import burp.model.Snake;
 
-import java.util.Random;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Pure game logic — no Swing dependencies.
- * All state mutation occurs on the EDT via javax.swing.Timer callbacks.
+ * Not thread-safe: one thread owns each engine. In the tab that is the EDT,
+ * ticking through the shared {@code GameScheduler}; the CLI, {@code BotRace}
+ * and the benches drive their own engines on their own threads.
+ * Changes are published as typed deltas on {@link #getEvents()}.
+ * A Zobrist hash of the board ({@link #getStateHash()}) is kept up to date
+ * by XOR as the snake moves and food is eaten or spawned.
  */
 public class GameEngine {
 
@@ -22,40 +33,75 @@ public class GameEngine {
     private static final int SPEED_STEP_MS     = 10;
     private static final int MIN_INTERVAL_MS   = 40;
 
+    // Traffic mode: proxied requests add food, error responses add obstacles
+    private static final int TRAFFIC_FOOD_CAPACITY   = 100;
+    private static final int TRAFFIC_MAX_OBSTACLES   = 40;
+    private static final int TRAFFIC_SPAWNS_PER_TICK = 4;  // per kind; bursts beyond this are dropped
+    private static final int TRAFFIC_SAFE_DISTANCE   = 4;  // obstacles never appear this close to the head
+    private static final int TRAFFIC_SPAWN_ATTEMPTS  = 64;
+
     private Snake snake;
     private Food  food;
+    private FoodField foodField; // non-null in multi-food mode
+    private int foodCount = 1;
     private GameState  state;
     private int score;
     private int highScore;
     private int foodEaten;
     private boolean    wrapMode;
     private Difficulty difficulty;
+    private LevelMap   level = LevelMap.empty(COLS, ROWS);
+    private TrafficFeed   trafficFeed;
+    private ObstacleField obstacles; // non-null in traffic mode
+    private boolean          occupancyTracking;
+    private OccupancyPyramid occupancy; // non-null while tracking
+    private long stateHash;
 
-    private final Random random = new Random();
-    private GameEventListener listener;
+    private final GameRandom random = new GameRandom();
+    private final GameEventStream events = new GameEventStream(GameEventStream.DEFAULT_CAPACITY);
+    private final FoodField.ItemVisitor spawnPublisher = this::foodSpawned;
 
     public GameEngine() {
         difficulty = Difficulty.MEDIUM;
         state      = GameState.WAITING;
     }
 
-    public void setListener(GameEventListener listener) {
-        this.listener = listener;
+    /** Deltas describing every change to this game; subscribe instead of rescanning the engine. */
+    public GameEventStream getEvents() {
+        return events;
     }
 
     public void startNewGame() {
-        Point start = new Point(COLS / 2, ROWS / 2);
-        snake     = new Snake(start, Direction.RIGHT);
+        snake     = new Snake(level.getSpawn(), level.getSpawnDirection());
         food      = new Food(random);
         score     = 0;
         foodEaten = 0;
-        food.respawn(COLS, ROWS, snake);
+        if (trafficFeed != null && trafficFeed.isEnabled()) {
+            trafficFeed.drain(); // discard traffic from before this game
+            obstacles = new ObstacleField(level.getCols(), level.getRows(), TRAFFIC_MAX_OBSTACLES);
+            foodField = new FoodField(level.getCols(), level.getRows(),
+                                      Math.max(foodCount, TRAFFIC_FOOD_CAPACITY), random);
+            foodField.spawn(level, snake, foodCount);
+        } else if (foodCount > 1) {
+            obstacles = null;
+            foodField = new FoodField(level.getCols(), level.getRows(), foodCount, random);
+            foodField.fill(level, snake);
+        } else {
+            obstacles = null;
+            foodField = null;
+            food.respawn(level, snake);
+        }
+        if (foodField != null) foodField.setSpawnListener(spawnPublisher);
+        attachOccupancy();
+        stateHash = computeStateHash();
+        GameState previous = state;
         state = GameState.RUNNING;
-        notifyListener();
+        events.reset();
+        events.stateTransition(previous, state);
     }
 
     /**
-     * Advances the game one tick. Must be called on EDT.
+     * Advances the game one tick, on the thread that owns the engine.
      * @return ms delay for the next tick
      */
     public int tick() {
@@ -65,27 +111,50 @@ public class GameEngine {
 
         // Flush pending direction (moveTo will finalize it, but we need it now to compute nextHead)
         // We ask Snake to flush its pending direction so we read the correct upcoming direction.
+        Direction previousDir = snake.getCurrentDirection();
         snake.flushPendingDirection();
         Direction dir = snake.getCurrentDirection();
+        if (dir != previousDir) stateHash ^= ZobristKeys.direction(previousDir) ^ ZobristKeys.direction(dir);
 
         // Compute next head
         Point head = snake.getHead();
         int nx = head.x + dir.dx;
         int ny = head.y + dir.dy;
 
+        int cols = level.getCols();
+        int rows = level.getRows();
         if (wrapMode) {
-            nx = Math.floorMod(nx, COLS);
-            ny = Math.floorMod(ny, ROWS);
-        } else if (nx < 0 || nx >= COLS || ny < 0 || ny >= ROWS) {
+            nx = Math.floorMod(nx, cols);
+            ny = Math.floorMod(ny, rows);
+        } else if (nx < 0 || nx >= cols || ny < 0 || ny >= rows) {
             endGame();
             return getCurrentInterval();
         }
 
-        Point nextHead = new Point(nx, ny);
-        boolean ate = nextHead.equals(food.getPosition());
+        // Walls: one bit test against the compiled level mask
+        if (level.isBlocked(nx, ny) || (obstacles != null && obstacles.contains(nx, ny))) {
+            endGame();
+            return getCurrentInterval();
+        }
+
+        Point nextHead = level.isPortal(nx, ny) ? level.portalExit(nx, ny) : new Point(nx, ny);
+        FoodType eaten;
+        if (foodField != null) {
+            eaten = foodField.eatAt(nextHead.x, nextHead.y);
+            if (eaten != null) stateHash ^= ZobristKeys.food(cellOf(nextHead), eaten);
+        } else {
+            eaten = nextHead.equals(food.getPosition()) ? FoodType.APPLE : null;
+        }
+        boolean ate = eaten != null;
 
         // Move snake
+        Point tail = snake.getTail();
         snake.moveTo(nextHead, ate);
+        int nextCell = cellOf(nextHead);
+        stateHash ^= ZobristKeys.head(cellOf(head)) ^ ZobristKeys.head(nextCell) ^ ZobristKeys.body(nextCell);
+        if (!ate) stateHash ^= ZobristKeys.body(cellOf(tail));
+        events.headAdvanced(nextHead.x, nextHead.y, eaten);
+        if (!ate) events.tailRetracted(tail.x, tail.y);
 
         // Self-collision
         if (snake.hasHeadCollidedWithBody()) {
@@ -94,23 +163,70 @@ public class GameEngine {
         }
 
         if (ate) {
-            score += computeScoreGain();
+            score += computeScoreGain() * eaten.getValue();
             foodEaten++;
             if (score > highScore) highScore = score;
-            food.respawn(COLS, ROWS, snake);
+            events.scoreChanged(score, highScore);
+            if (obstacles != null) {
+                // Traffic mode: only top back up to the baseline count
+                foodField.cancelPendingRespawns();
+                if (foodField.size() < foodCount) {
+                    foodField.spawn(level, snake, foodCount - foodField.size());
+                }
+            } else if (foodField != null) {
+                foodField.respawnPending(level, snake);
+            } else {
+                stateHash ^= ZobristKeys.food(cellOf(food.getPosition()), FoodType.APPLE);
+                food.respawn(level, snake);
+                stateHash ^= ZobristKeys.food(cellOf(food.getPosition()), FoodType.APPLE);
+                events.foodSpawned(food.getPosition().x, food.getPosition().y, FoodType.APPLE);
+            }
+        }
+
+        if (obstacles != null) {
+            applyTraffic();
         }
 
-        notifyListener();
         return getCurrentInterval();
     }
 
+    /** Drains the traffic feed once and turns its counts into food and obstacles. */
+    private void applyTraffic() {
+        trafficFeed.drain();
+        int newFood = Math.min(trafficFeed.getDrainedRequests(), TRAFFIC_SPAWNS_PER_TICK);
+        if (newFood > 0) {
+            foodField.spawn(level, snake, newFood);
+        }
+        int newObstacles = Math.min(trafficFeed.getDrainedErrors(), TRAFFIC_SPAWNS_PER_TICK);
+        for (int i = 0; i < newObstacles; i++) {
+            spawnObstacle();
+        }
+    }
+
+    private void spawnObstacle() {
+        Point head = snake.getHead();
+        for (int attempt = 0; attempt < TRAFFIC_SPAWN_ATTEMPTS; attempt++) {
+            int x = random.nextInt(level.getCols());
+            int y = random.nextInt(level.getRows());
+            if (Math.abs(x - head.x) + Math.abs(y - head.y) < TRAFFIC_SAFE_DISTANCE) continue;
+            if (level.isBlocked(x, y) || level.isPortal(x, y) || obstacles.contains(x, y)) continue;
+            if (foodField.itemAt(x, y) >= 0) continue;
+            if (snake.contains(x, y)) continue;
+            int evicted = obstacles.add(x, y);
+            if (evicted >= 0) stateHash ^= ZobristKeys.obstacle(evicted);
+            stateHash ^= ZobristKeys.obstacle(y * level.getCols() + x);
+            return;
+        }
+    }
+
     public void togglePause() {
+        GameState previous = state;
         if (state == GameState.RUNNING) {
             state = GameState.PAUSED;
         } else if (state == GameState.PAUSED) {
             state = GameState.RUNNING;
         }
-        notifyListener();
+        events.stateTransition(previous, state);
     }
 
     public void setDesiredDirection(Direction direction) {
@@ -119,12 +235,204 @@ public class GameEngine {
         }
     }
 
+    /** Makes food and obstacle placement reproducible from here on, e.g. for bot races. */
+    public void setSeed(long seed) {
+        random.setSeed(seed);
+    }
+
     public void setDifficulty(Difficulty d) { this.difficulty = d; }
     public void setWrapMode(boolean w)       { this.wrapMode = w; }
 
+    /** Source of proxy traffic; traffic mode applies to games started while the feed is enabled. */
+    public void setTrafficFeed(TrafficFeed feed) {
+        this.trafficFeed = feed;
+    }
+
+    /** Number of simultaneous food items for the next game; 1 is the classic single food. */
+    public void setFoodCount(int count) {
+        if (count < 1) throw new IllegalArgumentException("Food count must be at least 1: " + count);
+        this.foodCount = count;
+    }
+
+    /** Switches the board layout and ends any game in progress; the next {@link #startNewGame()} uses it. */
+    public void setLevel(LevelMap level) {
+        this.level = level;
+        stateHash = computeStateHash(); // cells are packed by the new width
+        GameState previous = state;
+        state = GameState.WAITING;
+        events.reset();
+        events.stateTransition(previous, state);
+    }
+
+    /** Captures the current state; O(length), and safe to hand to another thread. */
+    public GameSnapshot snapshot() {
+        int cols = level.getCols();
+        int[] body = null;
+        Direction dir = null;
+        Direction pending = null;
+        if (snake != null) {
+            List<Point> cells = snake.getBodyAsList();
+            body = new int[cells.size()];
+            for (int i = 0; i < body.length; i++) {
+                Point p = cells.get(i);
+                body[i] = p.y * cols + p.x;
+            }
+            dir     = snake.getCurrentDirection();
+            pending = snake.getPendingDirection();
+        }
+
+        int foodCell = -1;
+        if (food != null && food.getPosition() != null) {
+            foodCell = food.getPosition().y * cols + food.getPosition().x;
+        }
+
+        int[] items = null;
+        if (foodField != null) {
+            int[] packed = new int[foodField.size() * 2];
+            int[] n = {0};
+            foodField.forEach((x, y, type) -> {
+                packed[n[0]++] = y * cols + x;
+                packed[n[0]++] = type.ordinal();
+            });
+            items = packed;
+        }
+
+        int[] blocked = obstacles != null ? obstacles.toPackedArray() : null;
+
+        return new GameSnapshot(body, dir, pending, foodCell, items, foodCount, blocked, state,
+                score, highScore, foodEaten, wrapMode, difficulty, level, random.getState());
+    }
+
+    /** Replaces the whole game state with a snapshot's. */
+    public void restore(GameSnapshot s) {
+        level      = s.level;
+        difficulty = s.difficulty;
+        wrapMode   = s.wrapMode;
+        foodCount  = s.foodCount;
+        state      = s.state;
+        score      = s.score;
+        highScore  = s.highScore;
+        foodEaten  = s.foodEaten;
+        random.setState(s.rngState);
+
+        int cols = level.getCols();
+        if (s.body != null) {
+            List<Point> cells = new ArrayList<>(s.body.length);
+            for (int cell : s.body) {
+                cells.add(new Point(cell % cols, cell / cols));
+            }
+            snake = new Snake(cells, s.direction, s.pendingDirection);
+        } else {
+            snake = null;
+        }
+
+        food = new Food(random);
+        if (s.food >= 0) food.place(new Point(s.food % cols, s.food / cols));
+
+        if (s.obstacles != null) {
+            obstacles = new ObstacleField(cols, level.getRows(), TRAFFIC_MAX_OBSTACLES);
+            for (int cell : s.obstacles) {
+                obstacles.add(cell % cols, cell / cols);
+            }
+        } else {
+            obstacles = null;
+        }
+
+        if (s.foodItems != null) {
+            int capacity = obstacles != null ? Math.max(foodCount, TRAFFIC_FOOD_CAPACITY) : foodCount;
+            foodField = new FoodField(cols, level.getRows(), Math.max(capacity, s.foodItems.length / 2), random);
+            FoodType[] types = FoodType.values();
+            for (int i = 0; i < s.foodItems.length; i += 2) {
+                int cell = s.foodItems[i];
+                foodField.place(cell % cols, cell / cols, types[s.foodItems[i + 1]]);
+            }
+        } else {
+            foodField = null;
+        }
+        if (foodField != null) foodField.setSpawnListener(spawnPublisher);
+        attachOccupancy();
+        stateHash = computeStateHash();
+        events.reset();
+    }
+
+    // ---------------------------------------------------------------
+    // State hash
+    // ---------------------------------------------------------------
+
+    /**
+     * 64-bit Zobrist hash of the snake's cells, head, direction, food and
+     * traffic obstacles, updated in O(1) per tick. Equal states hash equal, so per-tick hashes
+     * can check a replay or a remote client against the authoritative run.
+     */
+    public long getStateHash() {
+        return stateHash;
+    }
+
+    /** Recomputes {@link #getStateHash()} from scratch in O(length + food + obstacles); for verification. */
+    public long computeStateHash() {
+        long h = 0;
+        if (snake != null) {
+            for (Point p : snake.getBodyAsList()) {
+                h ^= ZobristKeys.body(cellOf(p));
+            }
+            h ^= ZobristKeys.head(cellOf(snake.getHead())) ^ ZobristKeys.direction(snake.getCurrentDirection());
+        }
+        if (foodField != null) {
+            long[] acc = {h};
+            foodField.forEach((x, y, type) -> acc[0] ^= ZobristKeys.food(y * level.getCols() + x, type));
+            h = acc[0];
+        } else if (food != null && food.getPosition() != null) {
+            h ^= ZobristKeys.food(cellOf(food.getPosition()), FoodType.APPLE);
+        }
+        if (obstacles != null) {
+            for (int cell : obstacles.toPackedArray()) {
+                h ^= ZobristKeys.obstacle(cell);
+            }
+        }
+        return h;
+    }
+
+    private void foodSpawned(int x, int y, FoodType type) {
+        stateHash ^= ZobristKeys.food(y * level.getCols() + x, type);
+        events.foodSpawned(x, y, type);
+    }
+
+    private int cellOf(Point p) {
+        return p.y * level.getCols() + p.x;
+    }
+
+    /**
+     * Keeps an {@link OccupancyPyramid} of the snake up to date, e.g. for a
+     * minimap. Off by default; the pyramid is reused across games on boards
+     * of the same size.
+     */
+    public void setOccupancyTracking(boolean enabled) {
+        occupancyTracking = enabled;
+        if (!enabled) {
+            occupancy = null;
+            if (snake != null) snake.trackOccupancy(null);
+        } else {
+            attachOccupancy();
+        }
+    }
+
+    /** The snake's occupancy pyramid, or null when tracking is off or no game was started yet. */
+    public OccupancyPyramid getOccupancy() {
+        return occupancy;
+    }
+
+    private void attachOccupancy() {
+        if (!occupancyTracking || snake == null) return;
+        if (occupancy == null || occupancy.getCols() != level.getCols() || occupancy.getRows() != level.getRows()) {
+            occupancy = new OccupancyPyramid(level.getCols(), level.getRows());
+        }
+        snake.trackOccupancy(occupancy);
+    }
+
     private void endGame() {
+        GameState previous = state;
         state = GameState.GAME_OVER;
-        notifyListener();
+        events.stateTransition(previous, state);
     }
 
     private int computeScoreGain() {
@@ -142,21 +450,18 @@ public class GameEngine {
         return Math.max(interval, MIN_INTERVAL_MS);
     }
 
-    private void notifyListener() {
-        if (listener != null) listener.onGameStateChanged(this);
-    }
-
     public Snake      getSnake()      { return snake; }
     public Food       getFood()       { return food; }
+    public FoodField  getFoodField()  { return foodField; }
+    public int        getFoodCount()  { return foodCount; }
     public GameState  getState()      { return state; }
     public int        getScore()      { return score; }
     public int        getHighScore()  { return highScore; }
     public boolean    isWrapMode()    { return wrapMode; }
     public Difficulty getDifficulty() { return difficulty; }
     public int        getFoodEaten()  { return foodEaten; }
-
-    @FunctionalInterface
-    public interface GameEventListener {
-        void onGameStateChanged(GameEngine engine);
-    }
+    public LevelMap   getLevel()      { return level; }
+    public ObstacleField getObstacles() { return obstacles; }
+    public int        getCols()       { return level.getCols(); }
+    public int        getRows()       { return level.getRows(); }
 }
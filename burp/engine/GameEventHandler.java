@@ -0,0 +1,33 @@
+package burp.engine;
+
+import burp.model.FoodType;
+import burp.model.GameState;
+
+/**
+ * Receives game deltas from a {@link GameEventStream.Subscription}, oldest
+ * first. Every method has an empty default, so consumers only override what
+ * they track. Arguments are primitives and enum constants: delivering an
+ * event allocates nothing.
+ */
+public interface GameEventHandler {
+
+    /**
+     * The game was replaced wholesale (new game, level change, restore) or this
+     * subscriber fell too far behind. Rebuild from the engine's current state;
+     * it already includes every change that was pending, so nothing else is
+     * delivered in this poll.
+     */
+    default void onReset() {}
+
+    /** The head moved to (x, y), after any portal jump. {@code eaten} is null when nothing was eaten. */
+    default void onHeadAdvanced(int x, int y, FoodType eaten) {}
+
+    /** The tail left (x, y); not sent on ticks where the snake grows. */
+    default void onTailRetracted(int x, int y) {}
+
+    default void onFoodSpawned(int x, int y, FoodType type) {}
+
+    default void onScoreChanged(int score, int highScore) {}
+
+    default void onStateTransition(GameState from, GameState to) {}
+}
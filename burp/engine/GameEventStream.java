@@ -0,0 +1,182 @@
+package burp.engine;
+
+import burp.model.FoodType;
+import burp.model.GameState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Typed deltas published by one {@link GameEngine}, in a preallocated ring.
+ *
+ * Events are stored as a type byte plus three ints in parallel arrays, so
+ * publishing never allocates. Each {@link Subscription} keeps its own cursor
+ * and consumes at its own pace; a subscriber costs O(events since its last
+ * poll), however large the board. One that falls more than the ring's
+ * capacity behind gets a single {@link GameEventHandler#onReset} instead.
+ *
+ * Publishing and polling must happen on the engine's thread (the EDT for the
+ * live game).
+ */
+public final class GameEventStream {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private static final byte RESET            = 0;
+    private static final byte HEAD_ADVANCED    = 1;
+    private static final byte TAIL_RETRACTED   = 2;
+    private static final byte FOOD_SPAWNED     = 3;
+    private static final byte SCORE_CHANGED    = 4;
+    private static final byte STATE_TRANSITION = 5;
+
+    private static final FoodType[]  FOOD_TYPES = FoodType.values();
+    private static final GameState[] STATES     = GameState.values();
+
+    private final int    capacity;
+    private final int    mask;
+    private final byte[] types;
+    private final int[]  argA;
+    private final int[]  argB;
+    private final int[]  argC;
+    private long published;     // sequence number of the next event
+    private long lastReset = -1;
+
+    private final List<Subscription> subscriptions = new ArrayList<>();
+
+    GameEventStream(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask     = capacity - 1;
+        this.types    = new byte[capacity];
+        this.argA     = new int[capacity];
+        this.argB     = new int[capacity];
+        this.argC     = new int[capacity];
+    }
+
+    // ---------------------------------------------------------------
+    // Subscribers
+    // ---------------------------------------------------------------
+
+    /**
+     * Starts receiving events published from now on; read the engine once for
+     * the current state.
+     *
+     * @param onAvailable run when the first event lands after a poll that left
+     *                    the subscription caught up, e.g. to schedule the next
+     *                    poll; may be null for subscribers that poll on their own
+     */
+    public Subscription subscribe(Runnable onAvailable) {
+        Subscription s = new Subscription(onAvailable);
+        subscriptions.add(s);
+        return s;
+    }
+
+    public long getPublished() {
+        return published;
+    }
+
+    // ---------------------------------------------------------------
+    // Publishing (GameEngine)
+    // ---------------------------------------------------------------
+
+    void reset() {
+        lastReset = published;
+        publish(RESET, 0, 0, 0);
+    }
+
+    void headAdvanced(int x, int y, FoodType eaten) {
+        publish(HEAD_ADVANCED, x, y, eaten == null ? -1 : eaten.ordinal());
+    }
+
+    void tailRetracted(int x, int y) {
+        publish(TAIL_RETRACTED, x, y, 0);
+    }
+
+    void foodSpawned(int x, int y, FoodType type) {
+        publish(FOOD_SPAWNED, x, y, type.ordinal());
+    }
+
+    void scoreChanged(int score, int highScore) {
+        publish(SCORE_CHANGED, score, highScore, 0);
+    }
+
+    void stateTransition(GameState from, GameState to) {
+        if (from != to) publish(STATE_TRANSITION, from.ordinal(), to.ordinal(), 0);
+    }
+
+    private void publish(byte type, int a, int b, int c) {
+        int i = (int) (published & mask);
+        types[i] = type;
+        argA[i]  = a;
+        argB[i]  = b;
+        argC[i]  = c;
+        published++;
+        for (int s = 0; s < subscriptions.size(); s++) {
+            subscriptions.get(s).signal();
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // Subscription
+    // ---------------------------------------------------------------
+
+    /** One consumer's position in the stream. */
+    public final class Subscription {
+        private final Runnable onAvailable;
+        private long    cursor = published;
+        private boolean signalled;
+
+        private Subscription(Runnable onAvailable) {
+            this.onAvailable = onAvailable;
+        }
+
+        /**
+         * Delivers every event since the last poll, oldest first.
+         *
+         * @return number of events delivered; a reset counts as one
+         */
+        public int poll(GameEventHandler handler) {
+            signalled = false;
+            long end = published;
+            if (lastReset >= cursor || end - cursor > capacity) {
+                cursor = end;
+                handler.onReset();
+                return 1;
+            }
+            int delivered = 0;
+            while (cursor < end) {
+                int i = (int) (cursor++ & mask);
+                int a = argA[i];
+                int b = argB[i];
+                switch (types[i]) {
+                    case HEAD_ADVANCED    -> handler.onHeadAdvanced(a, b, argC[i] < 0 ? null : FOOD_TYPES[argC[i]]);
+                    case TAIL_RETRACTED   -> handler.onTailRetracted(a, b);
+                    case FOOD_SPAWNED     -> handler.onFoodSpawned(a, b, FOOD_TYPES[argC[i]]);
+                    case SCORE_CHANGED    -> handler.onScoreChanged(a, b);
+                    case STATE_TRANSITION -> handler.onStateTransition(STATES[a], STATES[b]);
+                    default -> { }
+                }
+                delivered++;
+            }
+            return delivered;
+        }
+
+        public boolean hasPending() {
+            return cursor < published;
+        }
+
+        /** Stops receiving events. */
+        public void close() {
+            subscriptions.remove(this);
+        }
+
+        private void signal() {
+            if (!signalled && onAvailable != null) {
+                signalled = true;
+                onAvailable.run();
+            }
+        }
+    }
+}
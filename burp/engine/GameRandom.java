@@ -0,0 +1,42 @@
+package burp.engine;
+
+import java.util.Random;
+
+/**
+ * SplitMix64 generator whose whole state is one readable, writable long, so a
+ * saved game resumes with exactly the food placements it would have had.
+ * Extends {@link Random} so model classes keep taking a plain Random.
+ *
+ * Unlike Random, not thread-safe; the engine only uses it on its own thread.
+ */
+final class GameRandom extends Random {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state; // no initializer: Random's constructor sets it via setSeed
+
+    GameRandom() {
+        super();
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        state = seed;
+    }
+
+    long getState()            { return state; }
+    void setState(long state)  { this.state = state; }
+
+    @Override
+    public long nextLong() {
+        long z = state += GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+}
@@ -0,0 +1,65 @@
+package burp.engine;
+
+import burp.model.Difficulty;
+import burp.model.Direction;
+import burp.model.GameState;
+import burp.model.LevelMap;
+
+/**
+ * Immutable copy of everything needed to redraw or resume a game at one tick.
+ * Created by {@link GameEngine#snapshot()} and applied with {@link GameEngine#restore}.
+ *
+ * Cells are packed as {@code y * cols + x} so a snapshot costs one int per
+ * body cell and no per-cell objects. The constructor is public so tools can
+ * build positions directly; the engine trusts it and does not validate.
+ */
+public final class GameSnapshot {
+
+    final int[]      body;        // packed cells, head first
+    final Direction  direction;
+    final Direction  pendingDirection;
+    final int        food;        // packed cell, -1 when absent (classic mode)
+    final int[]      foodItems;   // packed cell and FoodType ordinal pairs (multi-food mode), else null
+    final int        foodCount;
+    final int[]      obstacles;   // packed traffic obstacles, oldest first (traffic mode), else null
+    final GameState  state;
+    final int        score;
+    final int        highScore;
+    final int        foodEaten;
+    final boolean    wrapMode;
+    final Difficulty difficulty;
+    final LevelMap   level;
+    final long       rngState;    // food and obstacle placement continues from here
+
+    /**
+     * @param body      packed cells, head first; null before the first game
+     * @param food      packed classic food cell, or -1
+     * @param foodItems packed cell and {@link burp.model.FoodType} ordinal pairs, or null
+     * @param obstacles packed traffic obstacles, oldest first, or null
+     */
+    public GameSnapshot(int[] body, Direction direction, Direction pendingDirection,
+                 int food, int[] foodItems, int foodCount, int[] obstacles, GameState state,
+                 int score, int highScore, int foodEaten,
+                 boolean wrapMode, Difficulty difficulty, LevelMap level, long rngState) {
+        this.body             = body;
+        this.direction        = direction;
+        this.pendingDirection = pendingDirection;
+        this.food             = food;
+        this.foodItems        = foodItems;
+        this.foodCount        = foodCount;
+        this.obstacles        = obstacles;
+        this.state            = state;
+        this.score            = score;
+        this.highScore        = highScore;
+        this.foodEaten        = foodEaten;
+        this.wrapMode         = wrapMode;
+        this.difficulty       = difficulty;
+        this.level            = level;
+        this.rngState         = rngState;
+    }
+
+    public GameState getState()  { return state; }
+    public LevelMap  getLevel()  { return level; }
+    public int       getScore()  { return score; }
+    public int       length()    { return body == null ? 0 : body.length; }
+}
@@ -0,0 +1,299 @@
+package burp.engine;
+
+import burp.model.Difficulty;
+import burp.model.Direction;
+import burp.model.FoodType;
+import burp.model.GameState;
+import burp.model.LevelMap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Compact bit-packed encoding of a {@link GameSnapshot}, used to suspend a
+ * game across Burp restarts.
+ *
+ * Layout: magic "SNKS", a version byte, then a bit stream. Enums take two
+ * bits, cells take just enough bits for {@code cols * rows}. The body is the
+ * head cell plus two bits per segment for the step to the next one (wrap
+ * aware); a body broken by a portal jump falls back to one full cell per
+ * segment. The level is embedded in its own binary format, so custom maps
+ * come back too.
+ */
+public final class GameStateCodec {
+
+    public static final int MAGIC          = 0x534E4B53; // "SNKS"
+    public static final int FORMAT_VERSION = 1;
+
+    private static final Direction[]  DIRECTIONS   = Direction.values();
+    private static final GameState[]  STATES       = GameState.values();
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+    private static final FoodType[]   FOOD_TYPES   = FoodType.values();
+
+    private GameStateCodec() {}
+
+    // ---------------------------------------------------------------
+    // Encode
+    // ---------------------------------------------------------------
+
+    public static byte[] encode(GameSnapshot s) {
+        int cols = s.level.getCols();
+        int rows = s.level.getRows();
+        int cellBits = cellBits(cols, rows);
+        byte[] levelBytes = s.level.encode();
+
+        int bodyLength  = s.body != null ? s.body.length : 0;
+        int itemCount   = s.foodItems != null ? s.foodItems.length / 2 : 0;
+        int obstacleCnt = s.obstacles != null ? s.obstacles.length : 0;
+        long estimateBits = 512L + levelBytes.length * 8L
+                + (long) bodyLength * cellBits + (long) itemCount * (cellBits + 2) + (long) obstacleCnt * cellBits;
+        BitWriter out = new BitWriter((int) Math.min(Integer.MAX_VALUE - 8, estimateBits / 8 + 16));
+
+        out.write(MAGIC, 32);
+        out.write(FORMAT_VERSION, 8);
+
+        out.write(levelBytes.length, 32);
+        for (byte b : levelBytes) out.write(b & 0xFF, 8);
+
+        out.write(s.state.ordinal(), 2);
+        out.write(s.difficulty.ordinal(), 2);
+        out.writeBit(s.wrapMode);
+        out.write(s.foodCount, 32);
+        out.write(s.score, 32);
+        out.write(s.highScore, 32);
+        out.write(s.foodEaten, 32);
+        out.write(s.rngState, 64);
+
+        // Snake
+        out.writeBit(s.body != null);
+        if (s.body != null) {
+            out.write(s.direction.ordinal(), 2);
+            out.write(s.pendingDirection.ordinal(), 2);
+            out.write(bodyLength, 32);
+            out.write(s.body[0], cellBits);
+            boolean contiguous = isContiguous(s.body, cols, rows);
+            out.writeBit(contiguous);
+            for (int i = 1; i < bodyLength; i++) {
+                if (contiguous) {
+                    out.write(stepCode(s.body[i - 1], s.body[i], cols, rows), 2);
+                } else {
+                    out.write(s.body[i], cellBits);
+                }
+            }
+        }
+
+        // Food
+        out.writeBit(s.food >= 0);
+        if (s.food >= 0) out.write(s.food, cellBits);
+        out.writeBit(s.foodItems != null);
+        if (s.foodItems != null) {
+            out.write(itemCount, 32);
+            for (int i = 0; i < s.foodItems.length; i += 2) {
+                out.write(s.foodItems[i], cellBits);
+                out.write(s.foodItems[i + 1], 2);
+            }
+        }
+        out.writeBit(s.obstacles != null);
+        if (s.obstacles != null) {
+            out.write(obstacleCnt, 32);
+            for (int cell : s.obstacles) out.write(cell, cellBits);
+        }
+        return out.toByteArray();
+    }
+
+    // ---------------------------------------------------------------
+    // Decode
+    // ---------------------------------------------------------------
+
+    /** @throws IOException if the blob is truncated, from another version or inconsistent */
+    public static GameSnapshot decode(byte[] blob) throws IOException {
+        BitReader in = new BitReader(blob);
+        if (in.read(32) != MAGIC) throw new IOException("Not a saved Snake game");
+        int version = (int) in.read(8);
+        if (version != FORMAT_VERSION) throw new IOException("Unsupported saved game version " + version);
+
+        int levelLength = checkCount(in.read(32), blob.length);
+        byte[] levelBytes = new byte[levelLength];
+        for (int i = 0; i < levelLength; i++) levelBytes[i] = (byte) in.read(8);
+        LevelMap level;
+        try {
+            level = LevelMap.decode(ByteBuffer.wrap(levelBytes));
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt level in saved game", e);
+        }
+        int cols = level.getCols();
+        int rows = level.getRows();
+        int cells = cols * rows;
+        int cellBits = cellBits(cols, rows);
+
+        GameState  state      = enumAt(STATES, in.read(2));
+        Difficulty difficulty = enumAt(DIFFICULTIES, in.read(2));
+        boolean    wrapMode   = in.readBit();
+        int  foodCount = (int) in.read(32);
+        int  score     = (int) in.read(32);
+        int  highScore = (int) in.read(32);
+        int  foodEaten = (int) in.read(32);
+        long rngState  = in.read(64);
+        if (foodCount < 1) throw new IOException("Invalid food count " + foodCount);
+
+        int[] body = null;
+        Direction direction = null;
+        Direction pending   = null;
+        if (in.readBit()) {
+            direction = enumAt(DIRECTIONS, in.read(2));
+            pending   = enumAt(DIRECTIONS, in.read(2));
+            int length = checkCount(in.read(32), cells);
+            if (length == 0) throw new IOException("Empty snake");
+            body = new int[length];
+            body[0] = readCell(in, cellBits, cells);
+            boolean contiguous = in.readBit();
+            for (int i = 1; i < length; i++) {
+                if (contiguous) {
+                    Direction d = DIRECTIONS[(int) in.read(2)];
+                    int prev = body[i - 1];
+                    int x = Math.floorMod(prev % cols + d.dx, cols);
+                    int y = Math.floorMod(prev / cols + d.dy, rows);
+                    body[i] = y * cols + x;
+                } else {
+                    body[i] = readCell(in, cellBits, cells);
+                }
+            }
+        }
+
+        int food = in.readBit() ? readCell(in, cellBits, cells) : -1;
+
+        int[] foodItems = null;
+        if (in.readBit()) {
+            int n = checkCount(in.read(32), cells);
+            foodItems = new int[n * 2];
+            for (int i = 0; i < foodItems.length; i += 2) {
+                foodItems[i]     = readCell(in, cellBits, cells);
+                foodItems[i + 1] = enumAt(FOOD_TYPES, in.read(2)).ordinal();
+            }
+        }
+
+        int[] obstacles = null;
+        if (in.readBit()) {
+            int n = checkCount(in.read(32), cells);
+            obstacles = new int[n];
+            for (int i = 0; i < n; i++) obstacles[i] = readCell(in, cellBits, cells);
+        }
+
+        return new GameSnapshot(body, direction, pending, food, foodItems, foodCount, obstacles, state,
+                score, highScore, foodEaten, wrapMode, difficulty, level, rngState);
+    }
+
+    // ---------------------------------------------------------------
+    // Helpers
+    // ---------------------------------------------------------------
+
+    private static int cellBits(int cols, int rows) {
+        long cells = (long) cols * rows;
+        return Math.max(1, 64 - Long.numberOfLeadingZeros(cells - 1));
+    }
+
+    private static boolean isContiguous(int[] body, int cols, int rows) {
+        for (int i = 1; i < body.length; i++) {
+            if (stepCode(body[i - 1], body[i], cols, rows) < 0) return false;
+        }
+        return true;
+    }
+
+    /** Direction ordinal of the single (possibly wrapping) step from one cell to the next, or -1. */
+    private static int stepCode(int from, int to, int cols, int rows) {
+        int dx = Math.floorMod(to % cols - from % cols, cols);
+        int dy = Math.floorMod(to / cols - from / cols, rows);
+        if (dy == 0 && dx == 1)        return Direction.RIGHT.ordinal();
+        if (dy == 0 && dx == cols - 1) return Direction.LEFT.ordinal();
+        if (dx == 0 && dy == 1)        return Direction.DOWN.ordinal();
+        if (dx == 0 && dy == rows - 1) return Direction.UP.ordinal();
+        return -1;
+    }
+
+    private static int readCell(BitReader in, int cellBits, int cells) throws IOException {
+        int cell = (int) in.read(cellBits);
+        if (cell >= cells) throw new IOException("Cell " + cell + " outside the board");
+        return cell;
+    }
+
+    private static int checkCount(long count, int max) throws IOException {
+        if (count < 0 || count > max) throw new IOException("Invalid count " + count);
+        return (int) count;
+    }
+
+    private static <E> E enumAt(E[] values, long ordinal) throws IOException {
+        if (ordinal >= values.length) throw new IOException("Invalid value " + ordinal);
+        return values[(int) ordinal];
+    }
+
+    // ---------------------------------------------------------------
+    // Bit streams (MSB first)
+    // ---------------------------------------------------------------
+
+    private static final class BitWriter {
+        private byte[] bytes;
+        private int    length; // whole bytes written
+        private long   pending;
+        private int    pendingBits;
+
+        BitWriter(int capacity) {
+            bytes = new byte[Math.max(16, capacity)];
+        }
+
+        void writeBit(boolean bit) {
+            write(bit ? 1 : 0, 1);
+        }
+
+        /** Writes the low {@code bits} bits of value, 1 to 64. */
+        void write(long value, int bits) {
+            if (bits > 32) {
+                write(value >>> 32, bits - 32);
+                write(value & 0xFFFFFFFFL, 32);
+                return;
+            }
+            pending = (pending << bits) | (value & ((1L << bits) - 1));
+            pendingBits += bits;
+            while (pendingBits >= 8) {
+                pendingBits -= 8;
+                if (length == bytes.length) bytes = Arrays.copyOf(bytes, bytes.length * 2);
+                bytes[length++] = (byte) (pending >>> pendingBits);
+            }
+        }
+
+        byte[] toByteArray() {
+            if (pendingBits > 0) write(0, 8 - pendingBits);
+            return Arrays.copyOf(bytes, length);
+        }
+    }
+
+    private static final class BitReader {
+        private final byte[] bytes;
+        private int  position; // next byte
+        private long pending;
+        private int  pendingBits;
+
+        BitReader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        boolean readBit() throws IOException {
+            return read(1) != 0;
+        }
+
+        /** Reads {@code bits} bits, 1 to 64, as an unsigned value. */
+        long read(int bits) throws IOException {
+            if (bits > 32) {
+                long high = read(bits - 32);
+                return (high << 32) | read(32);
+            }
+            while (pendingBits < bits) {
+                if (position == bytes.length) throw new IOException("Saved game is truncated");
+                pending = (pending << 8) | (bytes[position++] & 0xFF);
+                pendingBits += 8;
+            }
+            pendingBits -= bits;
+            return (pending >>> pendingBits) & ((1L << bits) - 1);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package burp.engine;
+
+import burp.model.Direction;
+import burp.model.GameState;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * A recorded game that can be played back and checked tick for tick.
+ *
+ * A replay is the starting state (a {@link GameStateCodec} blob, which
+ * carries the RNG state), the direction applied before each tick, and the
+ * engine's {@linkplain GameEngine#getStateHash() state hash} every
+ * {@link #CHECKPOINT_EVERY} ticks and at the end. Since the engine is
+ * deterministic given its RNG state and inputs, {@link #verify()} replays the
+ * inputs on a fresh engine and compares hashes, so a divergence is located
+ * to within one checkpoint interval without storing whole states.
+ *
+ * Layout: magic "SNKR", a version byte, the start blob (length-prefixed),
+ * the tick count, inputs packed two bits per tick, the checkpoint hashes,
+ * then the final hash, score and state. Traffic-mode games cannot be
+ * recorded, as their obstacles come from live proxy traffic.
+ */
+public final class Replay {
+
+    public static final int MAGIC            = 0x534E4B52; // "SNKR"
+    public static final int FORMAT_VERSION   = 1;
+    public static final int CHECKPOINT_EVERY = 64;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final GameState[] STATES     = GameState.values();
+
+    private final byte[]    start;
+    private final byte[]    moves; // two bits per tick, first tick in the high bits
+    private final int       ticks;
+    private final long[]    checkpoints;
+    private final long      finalHash;
+    private final int       finalScore;
+    private final GameState finalState;
+
+    private Replay(byte[] start, byte[] moves, int ticks, long[] checkpoints,
+                   long finalHash, int finalScore, GameState finalState) {
+        this.start       = start;
+        this.moves       = moves;
+        this.ticks       = ticks;
+        this.checkpoints = checkpoints;
+        this.finalHash   = finalHash;
+        this.finalScore  = finalScore;
+        this.finalState  = finalState;
+    }
+
+    /**
+     * Starts recording an engine from its current state. Drive the game
+     * through the returned recorder only.
+     *
+     * @throws IllegalArgumentException if the game has no snake or is in traffic mode
+     */
+    public static Recorder record(GameEngine engine) {
+        if (engine.getSnake() == null) throw new IllegalArgumentException("No game to record");
+        if (engine.getObstacles() != null) throw new IllegalArgumentException("Traffic-mode games cannot be replayed");
+        return new Recorder(engine);
+    }
+
+    // ---------------------------------------------------------------
+    // Playback
+    // ---------------------------------------------------------------
+
+    /**
+     * Plays the replay on a fresh engine, checking every checkpoint and the
+     * final hash, score and state. The incremental hash is also checked
+     * against a full recompute at each checkpoint.
+     *
+     * @return -1 if the game was reproduced, else the tick of the first check that failed
+     * @throws IOException if the start state cannot be decoded
+     */
+    public int verify() throws IOException {
+        GameEngine engine = new GameEngine();
+        engine.restore(GameStateCodec.decode(start));
+        if (engine.getStateHash() != engine.computeStateHash()) return 0;
+        for (int t = 0; t < ticks; t++) {
+            engine.setDesiredDirection(moveAt(t));
+            engine.tick();
+            int done = t + 1;
+            if (done % CHECKPOINT_EVERY == 0) {
+                long hash = engine.getStateHash();
+                if (hash != checkpoints[done / CHECKPOINT_EVERY - 1] || hash != engine.computeStateHash()) {
+                    return done;
+                }
+            }
+        }
+        boolean same = engine.getStateHash() == finalHash
+                && engine.getScore() == finalScore
+                && engine.getState() == finalState;
+        return same ? -1 : ticks;
+    }
+
+    public Direction moveAt(int tick) {
+        return DIRECTIONS[(moves[tick >>> 2] >>> (6 - 2 * (tick & 3))) & 3];
+    }
+
+    public int       getTicks()      { return ticks; }
+    public int       getFinalScore() { return finalScore; }
+    public GameState getFinalState() { return finalState; }
+
+    // ---------------------------------------------------------------
+    // Encoding
+    // ---------------------------------------------------------------
+
+    public byte[] encode() {
+        ByteBuffer out = ByteBuffer.allocate(4 + 1 + 4 + start.length + 4 + moves.length
+                + 4 + checkpoints.length * 8 + 8 + 4 + 1);
+        out.putInt(MAGIC);
+        out.put((byte) FORMAT_VERSION);
+        out.putInt(start.length).put(start);
+        out.putInt(ticks).put(moves);
+        out.putInt(checkpoints.length);
+        for (long h : checkpoints) out.putLong(h);
+        out.putLong(finalHash);
+        out.putInt(finalScore);
+        out.put((byte) finalState.ordinal());
+        return out.array();
+    }
+
+    /** @throws IOException if the data is truncated, from another version or inconsistent */
+    public static Replay decode(byte[] data) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(data);
+        try {
+            if (in.getInt() != MAGIC) throw new IOException("Not a Snake replay");
+            int version = in.get();
+            if (version != FORMAT_VERSION) throw new IOException("Unsupported replay version " + version);
+
+            byte[] start = new byte[checkLength(in.getInt(), in.remaining())];
+            in.get(start);
+            int ticks = in.getInt();
+            if (ticks < 0) throw new IOException("Invalid tick count " + ticks);
+            byte[] moves = new byte[checkLength((ticks + 3) >>> 2, in.remaining())];
+            in.get(moves);
+            int count = in.getInt();
+            if (count != ticks / CHECKPOINT_EVERY) throw new IOException("Expected " + ticks / CHECKPOINT_EVERY
+                    + " checkpoints, found " + count);
+            long[] checkpoints = new long[count];
+            for (int i = 0; i < count; i++) checkpoints[i] = in.getLong();
+            long finalHash  = in.getLong();
+            int  finalScore = in.getInt();
+            int  state      = in.get();
+            if (state < 0 || state >= STATES.length) throw new IOException("Invalid final state " + state);
+            return new Replay(start, moves, ticks, checkpoints, finalHash, finalScore, STATES[state]);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Replay is truncated", e);
+        }
+    }
+
+    public void write(Path file) throws IOException {
+        Files.write(file, encode());
+    }
+
+    public static Replay read(Path file) throws IOException {
+        return decode(Files.readAllBytes(file));
+    }
+
+    private static int checkLength(int length, int remaining) throws IOException {
+        if (length < 0 || length > remaining) throw new IOException("Invalid length " + length);
+        return length;
+    }
+
+    // ---------------------------------------------------------------
+    // Recording
+    // ---------------------------------------------------------------
+
+    /** Plays and records one game; see {@link Replay#record}. */
+    public static final class Recorder {
+        private final GameEngine engine;
+        private final byte[]     start;
+        private byte[] moves       = new byte[256];
+        private long[] checkpoints = new long[16];
+        private int    ticks;
+
+        private Recorder(GameEngine engine) {
+            this.engine = engine;
+            this.start  = GameStateCodec.encode(engine.snapshot());
+        }
+
+        /**
+         * Applies a direction (null keeps the queued one) and ticks the engine.
+         *
+         * @return the engine's delay before the next tick
+         */
+        public int tick(Direction d) {
+            if (d != null) engine.setDesiredDirection(d);
+            // The queued direction is what the tick flushes; a rejected reversal never reaches it
+            Direction applied = engine.getSnake().getPendingDirection();
+            int delay = engine.tick();
+
+            if (ticks >>> 2 == moves.length) moves = Arrays.copyOf(moves, moves.length * 2);
+            moves[ticks >>> 2] |= (byte) (applied.ordinal() << (6 - 2 * (ticks & 3)));
+            ticks++;
+            if (ticks % CHECKPOINT_EVERY == 0) {
+                int i = ticks / CHECKPOINT_EVERY - 1;
+                if (i == checkpoints.length) checkpoints = Arrays.copyOf(checkpoints, i * 2);
+                checkpoints[i] = engine.getStateHash();
+            }
+            return delay;
+        }
+
+        public int getTicks() {
+            return ticks;
+        }
+
+        /** The game so far, ending in the engine's current state. */
+        public Replay finish() {
+            return new Replay(start, Arrays.copyOf(moves, (ticks + 3) >>> 2), ticks,
+                    Arrays.copyOf(checkpoints, ticks / CHECKPOINT_EVERY),
+                    engine.getStateHash(), engine.getScore(), engine.getState());
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package burp.engine;
+
+import burp.model.Direction;
+import burp.model.FoodType;
+import burp.model.LevelMap;
+import burp.model.Point;
+
+/**
+ * Scratch copy of a game for lookahead search: plays moves by the engine's
+ * rules and takes them back from an undo log.
+ *
+ * {@link #load} unpacks a {@link GameSnapshot} once into cell bitsets and a
+ * ring of body cells, O(length + food). After that a step and its undo are
+ * O(1), so many rollouts from the same position never copy the snake again.
+ * Loading the snapshot already loaded only rewinds. Food eaten during a
+ * rollout is not replaced, since respawns depend on the engine's RNG.
+ *
+ * Not thread-safe; keep one board per thread and reuse it across decisions.
+ */
+public final class RolloutBoard {
+
+    /** {@link #step} result when the move would end the game; the board is unchanged. */
+    public static final int DIED = -1;
+
+    private static final FoodType[] TYPES = FoodType.values();
+
+    private GameSnapshot loaded;
+    private LevelMap     level;
+    private int          cols;
+    private int          rows;
+    private boolean      wrapMode;
+
+    // ---- Cells ----
+    private long[]   snakeBits;
+    private long[]   obstacleBits; // null outside traffic mode
+    private long[][] foodBits = new long[TYPES.length][];
+
+    // ---- Body ring, oldest (tail) to newest (head); positions grow without wrapping ----
+    private int[] ring = new int[0];
+    private int   ringMask;
+    private int   tailPos;
+    private int   headPos;
+    private Direction direction;
+
+    // ---- Undo log ----
+    private byte[]      undoEaten = new byte[0]; // FoodType ordinal, -1 when nothing was eaten
+    private Direction[] undoDir   = new Direction[0];
+    private int         depth;
+    private int         maxDepth;
+
+    /**
+     * Makes the board match a snapshot, with room for {@code maxDepth} moves.
+     *
+     * @throws IllegalArgumentException if the snapshot has no snake
+     */
+    public void load(GameSnapshot s, int maxDepth) {
+        if (s.body == null || s.body.length == 0) throw new IllegalArgumentException("Snapshot has no snake");
+        if (s == loaded && maxDepth <= this.maxDepth) {
+            rewind();
+            return;
+        }
+        int words = (s.level.getCols() * s.level.getRows() + 63) >>> 6;
+        if (snakeBits == null || snakeBits.length != words) {
+            snakeBits = new long[words];
+            for (int t = 0; t < TYPES.length; t++) foodBits[t] = new long[words];
+            obstacleBits = null;
+        } else {
+            clearLoaded();
+        }
+
+        loaded   = s;
+        level    = s.level;
+        cols     = level.getCols();
+        rows     = level.getRows();
+        wrapMode = s.wrapMode;
+
+        int capacity = Integer.highestOneBit(Math.max(1, s.body.length + maxDepth) * 2 - 1);
+        if (ring.length < capacity) ring = new int[capacity];
+        ringMask = ring.length - 1;
+        tailPos  = 0;
+        headPos  = s.body.length - 1;
+        for (int i = 0; i < s.body.length; i++) {
+            int cell = s.body[i];
+            ring[headPos - i] = cell;
+            set(snakeBits, cell);
+        }
+        direction = s.direction;
+
+        if (s.foodItems != null) {
+            for (int i = 0; i < s.foodItems.length; i += 2) {
+                set(foodBits[s.foodItems[i + 1]], s.foodItems[i]);
+            }
+        } else if (s.food >= 0) {
+            set(foodBits[FoodType.APPLE.ordinal()], s.food);
+        }
+        if (s.obstacles != null) {
+            if (obstacleBits == null) obstacleBits = new long[words];
+            for (int cell : s.obstacles) set(obstacleBits, cell);
+        }
+
+        if (undoDir.length < maxDepth) {
+            undoEaten = new byte[maxDepth];
+            undoDir   = new Direction[maxDepth];
+        }
+        this.maxDepth = maxDepth;
+        depth = 0;
+    }
+
+    /** Unsets the previous snapshot's cells, O(length + food) instead of clearing whole bitsets. */
+    private void clearLoaded() {
+        rewind();
+        for (int p = tailPos; p <= headPos; p++) clear(snakeBits, ring[p & ringMask]);
+        if (loaded.foodItems != null) {
+            for (int i = 0; i < loaded.foodItems.length; i += 2) {
+                clear(foodBits[loaded.foodItems[i + 1]], loaded.foodItems[i]);
+            }
+        } else if (loaded.food >= 0) {
+            clear(foodBits[FoodType.APPLE.ordinal()], loaded.food);
+        }
+        if (loaded.obstacles != null && obstacleBits != null) {
+            for (int cell : loaded.obstacles) clear(obstacleBits, cell);
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // Moves
+    // ---------------------------------------------------------------
+
+    /**
+     * Plays one tick. Reversing is ignored like a key press, so the snake keeps
+     * its direction.
+     *
+     * @return {@link #DIED}, or the score value of the food eaten (0 for none)
+     * @throws IllegalStateException when {@code maxDepth} moves are already on the log
+     */
+    public int step(Direction d) {
+        if (depth == maxDepth) throw new IllegalStateException("Rollout deeper than " + depth);
+        if (d == null || d.isOpposite(direction)) d = direction;
+
+        int head = ring[headPos & ringMask];
+        int nx = head % cols + d.dx;
+        int ny = head / cols + d.dy;
+        if (wrapMode) {
+            nx = Math.floorMod(nx, cols);
+            ny = Math.floorMod(ny, rows);
+        } else if (nx < 0 || nx >= cols || ny < 0 || ny >= rows) {
+            return DIED;
+        }
+        if (level.isBlocked(nx, ny) || (obstacleBits != null && get(obstacleBits, ny * cols + nx))) return DIED;
+        if (level.isPortal(nx, ny)) {
+            Point exit = level.portalExit(nx, ny);
+            nx = exit.x;
+            ny = exit.y;
+        }
+        int cell = ny * cols + nx;
+
+        int eaten = -1;
+        for (int t = 0; t < TYPES.length; t++) {
+            if (get(foodBits[t], cell)) {
+                eaten = t;
+                break;
+            }
+        }
+        // As in the engine, the tail moves away before the head can hit it
+        if (eaten < 0) clear(snakeBits, ring[tailPos & ringMask]);
+        if (get(snakeBits, cell)) {
+            if (eaten < 0) set(snakeBits, ring[tailPos & ringMask]);
+            return DIED;
+        }
+        if (eaten < 0) {
+            tailPos++;
+        } else {
+            clear(foodBits[eaten], cell);
+        }
+        set(snakeBits, cell);
+        ring[++headPos & ringMask] = cell;
+
+        undoEaten[depth] = (byte) eaten;
+        undoDir[depth]   = direction;
+        depth++;
+        direction = d;
+        return eaten < 0 ? 0 : TYPES[eaten].getValue();
+    }
+
+    /** Takes back the last move. */
+    public void undo() {
+        if (depth == 0) throw new IllegalStateException("Nothing to undo");
+        depth--;
+        int eaten = undoEaten[depth];
+        direction = undoDir[depth];
+        int cell = ring[headPos-- & ringMask];
+        clear(snakeBits, cell);
+        if (eaten >= 0) {
+            set(foodBits[eaten], cell);
+        } else {
+            set(snakeBits, ring[--tailPos & ringMask]);
+        }
+    }
+
+    /** Takes back every move since {@link #load}. */
+    public void rewind() {
+        while (depth > 0) undo();
+    }
+
+    // ---------------------------------------------------------------
+    // Queries
+    // ---------------------------------------------------------------
+
+    public int       depth()      { return depth; }
+    public Direction direction()  { return direction; }
+    public int       headX()      { return ring[headPos & ringMask] % cols; }
+    public int       headY()      { return ring[headPos & ringMask] / cols; }
+    public int       length()     { return headPos - tailPos + 1; }
+    public int       getCols()    { return cols; }
+    public int       getRows()    { return rows; }
+
+    private static boolean get(long[] bits, int cell) {
+        return (bits[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    private static void set(long[] bits, int cell) {
+        bits[cell >>> 6] |= 1L << cell;
+    }
+
+    private static void clear(long[] bits, int cell) {
+        bits[cell >>> 6] &= ~(1L << cell);
+    }
+}
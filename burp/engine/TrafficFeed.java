@@ -0,0 +1,81 @@
+package burp.engine;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free handoff from Burp's proxy threads to the game loop.
+ *
+ * Producers only bump striped {@link LongAdder} counters, so a proxied message
+ * costs a few nanoseconds and never contends on a shared cache line. The game
+ * loop calls {@link #drain()} once per tick and reads how many requests and
+ * error responses arrived since the previous drain. Counts are monotonic, so
+ * nothing is lost between drains.
+ */
+public final class TrafficFeed {
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors   = new LongAdder();
+    private volatile boolean enabled;
+
+    // Consumer side (game loop only)
+    private long seenRequests;
+    private long seenErrors;
+    private int  drainedRequests;
+    private int  drainedErrors;
+
+    // ---------------------------------------------------------------
+    // Producer side (any thread)
+    // ---------------------------------------------------------------
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void recordRequest() {
+        requests.increment();
+    }
+
+    /** Counts the response if its status code is 4xx or 5xx. */
+    public void recordResponse(byte[] response) {
+        if (statusCode(response) >= 400) {
+            errors.increment();
+        }
+    }
+
+    /** Parses the status code from an HTTP/1.x status line, or returns -1. */
+    static int statusCode(byte[] response) {
+        if (response == null) return -1;
+        int limit = Math.min(response.length, 16);
+        int i = 0;
+        while (i < limit && response[i] != ' ') i++;
+        if (i == limit || i + 3 >= response.length) return -1;
+        int code = 0;
+        for (int k = i + 1; k <= i + 3; k++) {
+            int digit = response[k] - '0';
+            if (digit < 0 || digit > 9) return -1;
+            code = code * 10 + digit;
+        }
+        return code;
+    }
+
+    // ---------------------------------------------------------------
+    // Consumer side (game loop)
+    // ---------------------------------------------------------------
+
+    /** Captures the counts that arrived since the last drain. */
+    public void drain() {
+        long r = requests.sum();
+        long e = errors.sum();
+        drainedRequests = (int) Math.min(r - seenRequests, Integer.MAX_VALUE);
+        drainedErrors   = (int) Math.min(e - seenErrors,   Integer.MAX_VALUE);
+        seenRequests = r;
+        seenErrors   = e;
+    }
+
+    public int getDrainedRequests() { return drainedRequests; }
+    public int getDrainedErrors()   { return drainedErrors; }
+}
@@ -0,0 +1,339 @@
+package burp.engine;
+
+import burp.model.Direction;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Steps many independent Snake games per call for reinforcement-learning agents.
+ *
+ * Each game follows the same rules as {@link GameEngine} (reverse moves are
+ * ignored, the tail vacates its cell before the collision check, walls kill
+ * unless wrap mode is on), but all state lives in flat primitive arrays and one
+ * preallocated direct {@link ByteBuffer}, so {@link #step(int[])} allocates
+ * nothing once the environment is built. Batches above 256 games are split
+ * into chunks on the common fork-join pool; the calling thread runs chunks
+ * too and only allocates a wait node on the rare step where it must block
+ * for a chunk still running on a worker.
+ *
+ * Observation layout per game, at {@code env * observationStride()}:
+ * <pre>
+ *   [cols * rows bytes] occupancy plane: 0 empty, 1 body, 2 head
+ *   [padding to 4 bytes]
+ *   [int headX][int headY][int foodX][int foodY]   (native byte order)
+ * </pre>
+ * Finished games are reset automatically; their observation already shows the
+ * fresh game while {@link #dones()} reports that the previous one ended.
+ *
+ * Not thread-safe: one caller drives {@link #step(int[])} at a time.
+ */
+public final class VectorSnakeEnv {
+
+    /** Action value meaning "keep the current direction". */
+    public static final int NO_OP = -1;
+
+    public static final float REWARD_FOOD  =  1f;
+    public static final float REWARD_DEATH = -1f;
+
+    private static final byte CELL_EMPTY = 0;
+    private static final byte CELL_BODY  = 1;
+    private static final byte CELL_HEAD  = 2;
+
+    private static final int ENVS_PER_CHUNK = 256;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final int envCount;
+    private final int cols;
+    private final int rows;
+    private final int cells;
+    private final boolean wrapMode;
+
+    // ---- Observation buffer layout ----
+    private final int planeOffset = 0;
+    private final int coordsOffset;
+    private final int stride;
+    private final ByteBuffer observations;
+
+    // ---- Per-game state, env-major ----
+    private final int[]  body;        // ring buffer of cell indices, cells per env
+    private final int[]  headSlot;    // ring index of the head
+    private final int[]  length;
+    private final int[]  direction;   // Direction ordinal
+    private final int[]  foodCell;
+    private final int[]  score;       // food eaten in the current game
+    private final int[]  hungerSteps; // steps since the last food
+    private final long[] rngState;
+
+    // ---- Per-step outputs ----
+    private final float[]   rewards;
+    private final boolean[] dones;
+    private final int[]     finalScores;
+
+    // ---- Parallel stepping ----
+    private final StepChunk[]     chunks;
+    private final RecursiveAction stepAll;
+    private int[] actions;
+
+    public VectorSnakeEnv(int envCount, long seed) {
+        this(envCount, GameEngine.COLS, GameEngine.ROWS, false, seed);
+    }
+
+    public VectorSnakeEnv(int envCount, int cols, int rows, boolean wrapMode, long seed) {
+        if (envCount <= 0 || cols < 3 || rows < 1) {
+            throw new IllegalArgumentException(
+                "Invalid environment shape: " + envCount + " x " + cols + "x" + rows);
+        }
+        this.envCount = envCount;
+        this.cols     = cols;
+        this.rows     = rows;
+        this.cells    = cols * rows;
+        this.wrapMode = wrapMode;
+
+        coordsOffset = (cells + 3) & ~3;
+        stride       = coordsOffset + 4 * Integer.BYTES;
+        observations = ByteBuffer.allocateDirect(Math.multiplyExact(stride, envCount))
+                                 .order(ByteOrder.nativeOrder());
+
+        body        = new int[Math.multiplyExact(cells, envCount)];
+        headSlot    = new int[envCount];
+        length      = new int[envCount];
+        direction   = new int[envCount];
+        foodCell    = new int[envCount];
+        score       = new int[envCount];
+        hungerSteps = new int[envCount];
+        rngState    = new long[envCount];
+        rewards     = new float[envCount];
+        dones       = new boolean[envCount];
+        finalScores = new int[envCount];
+
+        for (int e = 0; e < envCount; e++) {
+            rngState[e] = mix64(seed + (e + 1) * 0x9E3779B97F4A7C15L);
+        }
+
+        int chunkCount = (envCount + ENVS_PER_CHUNK - 1) / ENVS_PER_CHUNK;
+        chunks = new StepChunk[chunkCount];
+        for (int c = 0; c < chunkCount; c++) {
+            chunks[c] = new StepChunk(c * ENVS_PER_CHUNK, Math.min(envCount, (c + 1) * ENVS_PER_CHUNK));
+        }
+        stepAll = new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(chunks);
+            }
+        };
+
+        reset();
+    }
+
+    // ---------------------------------------------------------------
+    // Public API
+    // ---------------------------------------------------------------
+
+    /** Starts a fresh game in every environment. */
+    public void reset() {
+        for (int e = 0; e < envCount; e++) {
+            resetEnv(e);
+            rewards[e] = 0f;
+            dones[e]   = false;
+        }
+    }
+
+    /**
+     * Advances every game by one tick.
+     *
+     * @param actions one entry per environment: a {@link Direction} ordinal or {@link #NO_OP}
+     */
+    public void step(int[] actions) {
+        if (actions.length < envCount) {
+            throw new IllegalArgumentException("Expected " + envCount + " actions, got " + actions.length);
+        }
+        this.actions = actions;
+        try {
+            if (chunks.length == 1) {
+                chunks[0].stepRange();
+            } else {
+                for (StepChunk chunk : chunks) chunk.reinitialize();
+                stepAll.reinitialize();
+                stepAll.invoke(); // runs on this thread, chunks forked to the common pool
+            }
+        } finally {
+            this.actions = null;
+        }
+    }
+
+    /** The shared observation buffer; contents are overwritten by every step. */
+    public ByteBuffer observations() { return observations; }
+
+    /** Rewards from the last step, one per environment. */
+    public float[] rewards() { return rewards; }
+
+    /** True where the last step ended a game (the environment has already been reset). */
+    public boolean[] dones() { return dones; }
+
+    /** Food eaten by games that ended on the last step; only meaningful where {@link #dones()} is set. */
+    public int[] finalScores() { return finalScores; }
+
+    public int envCount()           { return envCount; }
+    public int cols()               { return cols; }
+    public int rows()               { return rows; }
+    public int observationStride()  { return stride; }
+    public int planeOffset()        { return planeOffset; }
+    public int coordsOffset()       { return coordsOffset; }
+
+    // ---------------------------------------------------------------
+    // Simulation
+    // ---------------------------------------------------------------
+
+    private void resetEnv(int e) {
+        int base = e * stride;
+        for (int i = 0; i < cells; i++) {
+            observations.put(base + planeOffset + i, CELL_EMPTY);
+        }
+        int start = (rows / 2) * cols + cols / 2;
+        headSlot[e]    = 0;
+        length[e]      = 1;
+        body[e * cells] = start;
+        direction[e]   = Direction.RIGHT.ordinal();
+        score[e]       = 0;
+        hungerSteps[e] = 0;
+        observations.put(base + planeOffset + start, CELL_HEAD);
+        respawnFood(e);
+        writeCoords(e);
+    }
+
+    private void stepEnv(int e, int action) {
+        rewards[e] = 0f;
+        dones[e]   = false;
+
+        Direction current = DIRECTIONS[direction[e]];
+        if (action >= 0 && action < DIRECTIONS.length && !current.isOpposite(DIRECTIONS[action])) {
+            current = DIRECTIONS[action];
+            direction[e] = action;
+        }
+
+        int ringBase  = e * cells;
+        int planeBase = e * stride + planeOffset;
+        int head = body[ringBase + headSlot[e]];
+        int nx = head % cols + current.dx;
+        int ny = head / cols + current.dy;
+
+        if (wrapMode) {
+            nx = Math.floorMod(nx, cols);
+            ny = Math.floorMod(ny, rows);
+        } else if (nx < 0 || nx >= cols || ny < 0 || ny >= rows) {
+            finishEnv(e);
+            return;
+        }
+
+        int next = ny * cols + nx;
+        boolean ate = next == foodCell[e];
+
+        // Tail leaves its cell before the collision check, as in Snake.moveTo
+        if (!ate) {
+            int tailSlot = Math.floorMod(headSlot[e] - length[e] + 1, cells);
+            observations.put(planeBase + body[ringBase + tailSlot], CELL_EMPTY);
+            length[e]--;
+        }
+        if (observations.get(planeBase + next) != CELL_EMPTY) {
+            finishEnv(e);
+            return;
+        }
+
+        if (length[e] > 0) {
+            observations.put(planeBase + head, CELL_BODY);
+        }
+        int slot = headSlot[e] + 1 == cells ? 0 : headSlot[e] + 1;
+        headSlot[e] = slot;
+        body[ringBase + slot] = next;
+        length[e]++;
+        observations.put(planeBase + next, CELL_HEAD);
+
+        if (ate) {
+            score[e]++;
+            hungerSteps[e] = 0;
+            rewards[e] = REWARD_FOOD;
+            respawnFood(e);
+        } else if (++hungerSteps[e] > 2 * cells) {
+            // Truncate games that loop forever without eating
+            finalScores[e] = score[e];
+            dones[e] = true;
+            resetEnv(e);
+            return;
+        }
+        writeCoords(e);
+    }
+
+    private void finishEnv(int e) {
+        rewards[e]     = REWARD_DEATH;
+        dones[e]       = true;
+        finalScores[e] = score[e];
+        resetEnv(e);
+    }
+
+    /** Same rejection sampling as {@link burp.model.Food#respawn}, including its attempt cap. */
+    private void respawnFood(int e) {
+        int planeBase = e * stride + planeOffset;
+        int candidate;
+        int attempts = 0;
+        do {
+            candidate = nextInt(e, cells);
+            attempts++;
+            if (attempts > cells * 2) break;
+        } while (observations.get(planeBase + candidate) != CELL_EMPTY);
+        foodCell[e] = candidate;
+    }
+
+    private void writeCoords(int e) {
+        int base = e * stride + coordsOffset;
+        int head = body[e * cells + headSlot[e]];
+        int food = foodCell[e];
+        observations.putInt(base,                   head % cols);
+        observations.putInt(base + Integer.BYTES,     head / cols);
+        observations.putInt(base + 2 * Integer.BYTES, food % cols);
+        observations.putInt(base + 3 * Integer.BYTES, food / cols);
+    }
+
+    // ---------------------------------------------------------------
+    // Per-environment RNG (SplitMix64, allocation-free)
+    // ---------------------------------------------------------------
+
+    private int nextInt(int e, int bound) {
+        long s = rngState[e] + 0x9E3779B97F4A7C15L;
+        rngState[e] = s;
+        return (int) (((mix64(s) >>> 32) * bound) >>> 32);
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // ---------------------------------------------------------------
+    // Fork-join chunk, reused across steps via reinitialize()
+    // ---------------------------------------------------------------
+
+    private final class StepChunk extends RecursiveAction {
+        private final int from;
+        private final int to;
+
+        StepChunk(int from, int to) {
+            this.from = from;
+            this.to   = to;
+        }
+
+        @Override
+        protected void compute() {
+            stepRange();
+        }
+
+        void stepRange() {
+            int[] acts = actions;
+            for (int e = from; e < to; e++) {
+                stepEnv(e, acts[e]);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package burp.engine;
+
+import burp.model.Direction;
+import burp.model.FoodType;
+
+/**
+ * Keys for the engine's 64-bit Zobrist state hash (see {@link GameEngine#getStateHash()}).
+ *
+ * A state's hash is the XOR of one key per snake segment, one for the head
+ * cell, one for the direction, one per food item and one per traffic
+ * obstacle, so a move or respawn changes it with a handful of XORs. Keys are derived from (feature, cell)
+ * by a SplitMix64 finalizer rather than looked up in random tables, which
+ * would need a table entry per cell and feature on very large levels.
+ *
+ * Cells are packed as {@code y * cols + x}. Search code can use these keys to
+ * hash positions it has not played, e.g. for a transposition table.
+ */
+public final class ZobristKeys {
+
+    private static final int BODY = 0;
+    private static final int HEAD = 1;
+    private static final int FOOD = 2; // + FoodType ordinal
+    private static final int OBSTACLE = 7; // last feature, leaves room for food types
+    private static final int FEATURE_BITS = 3;
+
+    private static final long DIRECTION_SALT = 0xD1B54A32D192ED03L;
+
+    private ZobristKeys() {}
+
+    /** Key for one snake segment on a cell. */
+    public static long body(int cell) {
+        return mix((long) cell << FEATURE_BITS | BODY);
+    }
+
+    /** Key for the head being on a cell; added on top of its {@link #body} key. */
+    public static long head(int cell) {
+        return mix((long) cell << FEATURE_BITS | HEAD);
+    }
+
+    /** Key for a food item of a type on a cell. */
+    public static long food(int cell, FoodType type) {
+        return mix((long) cell << FEATURE_BITS | (FOOD + type.ordinal()));
+    }
+
+    /** Key for a traffic obstacle on a cell. */
+    public static long obstacle(int cell) {
+        return mix((long) cell << FEATURE_BITS | OBSTACLE);
+    }
+
+    /** Key for the snake's current direction. */
+    public static long direction(Direction d) {
+        return mix(DIRECTION_SALT + d.ordinal());
+    }
+
+    private static long mix(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
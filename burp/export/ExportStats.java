@@ -0,0 +1,39 @@
+package burp.export;
+
+/**
+ * Outcome of one export run.
+ */
+public final class ExportStats {
+
+    private final long framesEncoded;
+    private final long framesDropped;
+    private final long encodeNanos;
+    private final long peakImageBytes;
+
+    ExportStats(long framesEncoded, long framesDropped, long encodeNanos, long peakImageBytes) {
+        this.framesEncoded  = framesEncoded;
+        this.framesDropped  = framesDropped;
+        this.encodeNanos   = encodeNanos;
+        this.peakImageBytes = peakImageBytes;
+    }
+
+    public long getFramesEncoded()  { return framesEncoded; }
+    public long getFramesDropped()  { return framesDropped; }
+
+    /** Time spent inside the sink, excluding waits for frames to arrive. */
+    public long getEncodeNanos()    { return encodeNanos; }
+
+    /** Bytes of frame images held at once; bounded by the exporter's in-flight cap. */
+    public long getPeakImageBytes() { return peakImageBytes; }
+
+    /** Encoder throughput: frames per second of time spent encoding. */
+    public double getFramesPerSecond() {
+        return encodeNanos == 0 ? 0 : framesEncoded * 1e9 / encodeNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d frames (%d dropped), %.1f frames/s, %.1f MB frame memory",
+                framesEncoded, framesDropped, getFramesPerSecond(), peakImageBytes / (1024.0 * 1024.0));
+    }
+}
@@ -0,0 +1,242 @@
+package burp.export;
+
+import burp.engine.GameEngine;
+import burp.engine.GameSnapshot;
+import burp.ui.BoardRenderer;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Renders game snapshots into offscreen frames on a small worker pool and
+ * streams them, in order, to a {@link FrameSink} on a dedicated encoder thread.
+ *
+ * At most {@code maxInFlight} frames exist at once (queued, rendering or
+ * waiting to be encoded), which caps frame memory. {@link #submit} never
+ * blocks and drops the frame when the cap is reached, so it is safe to call
+ * from the EDT; offline producers use {@link #submitBlocking} instead.
+ *
+ * Producer methods must be called from one thread at a time.
+ */
+public class FrameExporter {
+
+    public static final int DEFAULT_MAX_IN_FLIGHT = 8;
+
+    private static final long POLL_MS = 50;
+
+    private final FrameSink sink;
+    private final int       maxInFlight;
+    private final int       width;
+    private final int       height;
+
+    private final ExecutorService renderPool;
+    private final Thread          encoderThread;
+    private final Semaphore       slots;
+    private final BlockingQueue<BufferedImage> freeImages;
+    private final BlockingQueue<Frame>         rendered;
+    private final ThreadLocal<Scratch>         scratch = ThreadLocal.withInitial(Scratch::new);
+
+    private final AtomicLong    imageBytes      = new AtomicLong();
+    private final AtomicLong    dropped         = new AtomicLong();
+
+    private long nextSeq;                     // producer side
+    private volatile long    totalFrames = -1; // set by finish()
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    // Encoder-thread state
+    private long encoded;
+    private long encodeNanos;
+
+    public FrameExporter(FrameSink sink) {
+        this(sink, DEFAULT_MAX_IN_FLIGHT, Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    public FrameExporter(FrameSink sink, int maxInFlight, int renderThreads) {
+        this.sink        = sink;
+        this.maxInFlight = maxInFlight;
+        this.width       = BoardRenderer.boardWidth();
+        this.height      = BoardRenderer.boardHeight();
+        this.slots       = new Semaphore(maxInFlight);
+        this.freeImages  = new ArrayBlockingQueue<>(maxInFlight);
+        this.rendered    = new ArrayBlockingQueue<>(maxInFlight);
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.renderPool = Executors.newFixedThreadPool(renderThreads, r -> {
+            Thread t = new Thread(r, "snake-export-render-" + threadIndex.incrementAndGet());
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY); // never compete with the live game
+            return t;
+        });
+        this.encoderThread = new Thread(this::encodeLoop, "snake-export-encoder");
+        encoderThread.setDaemon(true);
+        encoderThread.setPriority(Thread.MIN_PRIORITY);
+        encoderThread.start();
+    }
+
+    // ---------------------------------------------------------------
+    // Producer API
+    // ---------------------------------------------------------------
+
+    /**
+     * Queues a frame without blocking.
+     *
+     * @return false if the frame was dropped because the in-flight cap was reached
+     */
+    public boolean submit(GameSnapshot snapshot, int delayMs) {
+        if (closed) return false;
+        if (!slots.tryAcquire()) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        dispatch(snapshot, delayMs);
+        return true;
+    }
+
+    /** Queues a frame, waiting for a free slot. Must not be called on the EDT. */
+    public void submitBlocking(GameSnapshot snapshot, int delayMs) throws InterruptedException {
+        if (closed) throw new IllegalStateException("Exporter already finished");
+        slots.acquire();
+        dispatch(snapshot, delayMs);
+    }
+
+    private void dispatch(GameSnapshot snapshot, int delayMs) {
+        long seq = nextSeq++;
+        renderPool.execute(() -> render(seq, snapshot, delayMs));
+    }
+
+    /**
+     * Waits for every submitted frame to be encoded and closes the sink.
+     * Blocks, so call it off the EDT.
+     */
+    public ExportStats finish() throws IOException, InterruptedException {
+        closed = true;
+        totalFrames = nextSeq;
+        encoderThread.join();
+        renderPool.shutdown();
+        renderPool.awaitTermination(1, TimeUnit.MINUTES);
+        try {
+            sink.close();
+        } catch (IOException e) {
+            if (failure == null) failure = e;
+        }
+        freeImages.clear();
+        if (failure != null) throw failure;
+        return new ExportStats(encoded, dropped.get(), encodeNanos, imageBytes.get());
+    }
+
+    // ---------------------------------------------------------------
+    // Render workers
+    // ---------------------------------------------------------------
+
+    /**
+     * Always hands the encoder a frame for seq, even when drawing fails: the
+     * encoder writes frames in order, so a missing seq would stall it and
+     * leak its slot. A failed frame is skipped and fails {@link #finish}.
+     */
+    private void render(long seq, GameSnapshot snapshot, int delayMs) {
+        BufferedImage image = null;
+        boolean drawn = false;
+        try {
+            image = freeImages.poll();
+            if (image == null) {
+                image = sink.newFrame(width, height);
+                DataBuffer data = image.getRaster().getDataBuffer();
+                imageBytes.addAndGet((long) data.getSize() * DataBuffer.getDataTypeSize(data.getDataType()) / 8);
+            }
+            Scratch s = scratch.get();
+            s.engine.restore(snapshot);
+            Graphics2D g2 = image.createGraphics();
+            try {
+                s.renderer.paint(g2);
+            } finally {
+                g2.dispose();
+            }
+            drawn = true;
+        } catch (Throwable t) { // includes Errors: an OutOfMemoryError on a full board, Java2D failures
+            if (failure == null) failure = new IOException("Could not render frame " + seq, t);
+            closed = true;
+        } finally {
+            if (!drawn && image != null) {
+                freeImages.offer(image);
+                image = null; // encoder skips it but still frees the slot
+            }
+            rendered.add(new Frame(seq, image, delayMs)); // capacity == maxInFlight, never full
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // Encoder
+    // ---------------------------------------------------------------
+
+    private void encodeLoop() {
+        Frame[] reorder = new Frame[maxInFlight];
+        long expected = 0;
+        try {
+            while (totalFrames < 0 || expected < totalFrames) {
+                Frame f = rendered.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                if (f == null) continue;
+                reorder[(int) (f.seq % maxInFlight)] = f;
+
+                // In-flight seqs always fall in [expected, expected + maxInFlight)
+                Frame next;
+                while ((next = reorder[(int) (expected % maxInFlight)]) != null && next.seq == expected) {
+                    reorder[(int) (expected % maxInFlight)] = null;
+                    write(next);
+                    expected++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(Frame f) {
+        try {
+            if (f.image != null && failure == null) {
+                long t0 = System.nanoTime();
+                sink.writeFrame(f.image, f.delayMs);
+                encodeNanos += System.nanoTime() - t0;
+                encoded++;
+            }
+        } catch (IOException e) {
+            failure = e;
+            closed  = true;
+        } finally {
+            if (f.image != null) freeImages.offer(f.image);
+            slots.release();
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // Types
+    // ---------------------------------------------------------------
+
+    private static final class Frame {
+        final long          seq;
+        final BufferedImage image;
+        final int           delayMs;
+
+        Frame(long seq, BufferedImage image, int delayMs) {
+            this.seq     = seq;
+            this.image   = image;
+            this.delayMs = delayMs;
+        }
+    }
+
+    /** Per-render-thread engine and renderer, reused for every frame that thread draws. */
+    private static final class Scratch {
+        final GameEngine    engine   = new GameEngine();
+        final BoardRenderer renderer = new BoardRenderer(engine);
+    }
+}
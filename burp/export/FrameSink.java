@@ -0,0 +1,20 @@
+package burp.export;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+/**
+ * Streaming destination for exported frames. Frames arrive in order on a
+ * single encoder thread; the image is reused once {@link #writeFrame} returns.
+ */
+public interface FrameSink {
+
+    /** Allocates a frame image the sink can encode without converting it. */
+    default BufferedImage newFrame(int width, int height) {
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    }
+
+    void writeFrame(BufferedImage frame, int delayMs) throws IOException;
+
+    void close() throws IOException;
+}
@@ -0,0 +1,127 @@
+package burp.export;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOInvalidTreeException;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * Streams frames into a looping animated GIF with the JDK's ImageIO GIF writer.
+ * Each frame is appended to the file as it arrives.
+ */
+public class GifSequenceSink implements FrameSink {
+
+    private static final String GIF_METADATA_FORMAT = "javax_imageio_gif_image_1.0";
+
+    /**
+     * Fixed 256-colour palette: a 6x7x6 colour cube plus a grey ramp. Frames
+     * are drawn straight into it, so the writer never has to quantize.
+     */
+    private static final IndexColorModel PALETTE = buildPalette();
+
+    private final ImageWriter        writer;
+    private final ImageOutputStream  out;
+    private final ImageWriteParam    param;
+    private boolean firstFrame = true;
+
+    public GifSequenceSink(Path file) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("gif");
+        if (!writers.hasNext()) throw new IOException("No GIF writer available");
+        writer = writers.next();
+        Files.deleteIfExists(file);
+        out = ImageIO.createImageOutputStream(file.toFile());
+        if (out == null) throw new IOException("Cannot open " + file);
+        writer.setOutput(out);
+        writer.prepareWriteSequence(null);
+        param = writer.getDefaultWriteParam();
+    }
+
+    @Override
+    public BufferedImage newFrame(int width, int height) {
+        return new BufferedImage(width, height, BufferedImage.TYPE_BYTE_INDEXED, PALETTE);
+    }
+
+    @Override
+    public void writeFrame(BufferedImage frame, int delayMs) throws IOException {
+        IIOMetadata metadata = writer.getDefaultImageMetadata(
+                ImageTypeSpecifier.createFromRenderedImage(frame), param);
+        configure(metadata, delayMs);
+        writer.writeToSequence(new IIOImage(frame, null, metadata), param);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            writer.endWriteSequence();
+        } finally {
+            out.close();
+            writer.dispose();
+        }
+    }
+
+    private void configure(IIOMetadata metadata, int delayMs) throws IIOInvalidTreeException {
+        IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(GIF_METADATA_FORMAT);
+
+        IIOMetadataNode control = child(root, "GraphicControlExtension");
+        control.setAttribute("disposalMethod", "none");
+        control.setAttribute("userInputFlag", "FALSE");
+        control.setAttribute("transparentColorFlag", "FALSE");
+        control.setAttribute("delayTime", Integer.toString(Math.max(1, delayMs / 10))); // 1/100 s
+        control.setAttribute("transparentColorIndex", "0");
+
+        if (firstFrame) {
+            // NETSCAPE2.0 extension: loop forever
+            IIOMetadataNode app = new IIOMetadataNode("ApplicationExtension");
+            app.setAttribute("applicationID", "NETSCAPE");
+            app.setAttribute("authenticationCode", "2.0");
+            app.setUserObject(new byte[] {1, 0, 0});
+            child(root, "ApplicationExtensions").appendChild(app);
+            firstFrame = false;
+        }
+        metadata.setFromTree(GIF_METADATA_FORMAT, root);
+    }
+
+    private static IndexColorModel buildPalette() {
+        byte[] r = new byte[256];
+        byte[] g = new byte[256];
+        byte[] b = new byte[256];
+        int i = 0;
+        for (int ri = 0; ri < 6; ri++) {
+            for (int gi = 0; gi < 7; gi++) {
+                for (int bi = 0; bi < 6; bi++) {
+                    r[i] = (byte) (ri * 255 / 5);
+                    g[i] = (byte) (gi * 255 / 6);
+                    b[i] = (byte) (bi * 255 / 5);
+                    i++;
+                }
+            }
+        }
+        for (int grey = 0; i < 256; i++, grey++) {
+            int v = grey * 255 / (256 - 6 * 7 * 6 - 1);
+            r[i] = g[i] = b[i] = (byte) v;
+        }
+        return new IndexColorModel(8, 256, r, g, b);
+    }
+
+    private static IIOMetadataNode child(IIOMetadataNode root, String name) {
+        for (int i = 0; i < root.getLength(); i++) {
+            if (root.item(i).getNodeName().equalsIgnoreCase(name)) {
+                return (IIOMetadataNode) root.item(i);
+            }
+        }
+        IIOMetadataNode node = new IIOMetadataNode(name);
+        root.appendChild(node);
+        return node;
+    }
+}
@@ -0,0 +1,34 @@
+package burp.export;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes each frame as {@code frame_00000.png}, {@code frame_00001.png}, ... in a directory.
+ * Frame delays are not stored.
+ */
+public class PngSequenceSink implements FrameSink {
+
+    private final Path directory;
+    private int index;
+
+    public PngSequenceSink(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    @Override
+    public void writeFrame(BufferedImage frame, int delayMs) throws IOException {
+        Path file = directory.resolve(String.format("frame_%05d.png", index++));
+        if (!ImageIO.write(frame, "png", file.toFile())) {
+            throw new IOException("No PNG writer available");
+        }
+    }
+
+    @Override
+    public void close() {
+        // Nothing buffered
+    }
+}
@@ -0,0 +1,96 @@
+package burp.model;
+
+/**
+ * Multiset of grid cells in one open-addressed table (linear probing,
+ * backward-shift deletion), so containment checks need no {@link Point}.
+ * Counts make a cell entered by the head as the tail leaves it stay present.
+ *
+ * Cells must have non-negative coordinates (every snake cell is on the board);
+ * negative ones are rejected by {@link #add} and never contained.
+ */
+final class CellSet {
+
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private long[] keys;   // packed cell + 1, 0 = empty slot
+    private int[]  counts;
+    private int    mask;
+    private int    shift;  // 64 - log2(capacity)
+    private int    size;   // distinct cells
+
+    CellSet(int expected) {
+        allocate(Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1);
+    }
+
+    boolean contains(int x, int y) {
+        return x >= 0 && y >= 0 && indexOf(key(x, y)) >= 0;
+    }
+
+    void add(int x, int y) {
+        if (x < 0 || y < 0) throw new IllegalArgumentException("Cell off the board: " + x + "," + y);
+        long k = key(x, y);
+        int i = slot(k);
+        while (keys[i] != 0) {
+            if (keys[i] == k) {
+                counts[i]++;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i]   = k;
+        counts[i] = 1;
+        if (++size * 2 > keys.length) grow();
+    }
+
+    void remove(int x, int y) {
+        if (x < 0 || y < 0) return;
+        int gap = indexOf(key(x, y));
+        if (gap < 0 || --counts[gap] > 0) return;
+        size--;
+        // Pull later entries of the probe run back into the gap, unless that passes their home slot
+        for (int j = (gap + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+            if (((j - slot(keys[j])) & mask) >= ((j - gap) & mask)) {
+                keys[gap]   = keys[j];
+                counts[gap] = counts[j];
+                gap = j;
+            }
+        }
+        keys[gap]   = 0;
+        counts[gap] = 0;
+    }
+
+    private int indexOf(long k) {
+        for (int i = slot(k); keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == k) return i;
+        }
+        return -1;
+    }
+
+    private void grow() {
+        long[] oldKeys   = keys;
+        int[]  oldCounts = counts;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == 0) continue;
+            int j = slot(oldKeys[i]);
+            while (keys[j] != 0) j = (j + 1) & mask;
+            keys[j]   = oldKeys[i];
+            counts[j] = oldCounts[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys   = new long[capacity];
+        counts = new int[capacity];
+        mask   = capacity - 1;
+        shift  = 64 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private int slot(long k) {
+        return (int) ((k * GOLDEN) >>> shift);
+    }
+
+    private static long key(int x, int y) {
+        return ((long) x << 32 | y) + 1;
+    }
+}
@@ -12,20 +12,32 @@ public class Food {
     }
 
     /**
-     * Places food at a random grid cell not occupied by the snake.
+     * Places food at a random grid cell not occupied by the snake, a wall or a portal.
      */
-    public void respawn(int cols, int rows, Snake snake) {
+    public void respawn(LevelMap level, Snake snake) {
+        int cols = level.getCols();
+        int rows = level.getRows();
+        long maxAttempts = (long) cols * rows * 2;
         Point candidate;
-        int attempts = 0;
+        long attempts = 0;
         do {
             int x = random.nextInt(cols);
             int y = random.nextInt(rows);
-            candidate = new Point(x, y);
             attempts++;
+            if (level.isBlocked(x, y) || level.isPortal(x, y)) {
+                candidate = null;
+            } else {
+                candidate = new Point(x, y);
+            }
             // Safety: avoid infinite loop if board is almost full
-            if (attempts > cols * rows * 2) break;
-        } while (snake.containsPoint(candidate));
-        position = candidate;
+            if (attempts > maxAttempts) break;
+        } while (candidate == null || snake.containsPoint(candidate));
+        if (candidate != null) position = candidate;
+    }
+
+    /** Puts the food at an exact cell, e.g. when restoring a snapshot. */
+    public void place(Point position) {
+        this.position = position;
     }
 
     public Point getPosition() {
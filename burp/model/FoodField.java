@@ -0,0 +1,271 @@
+package burp.model;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Many simultaneous food items, indexed by a grid of fixed-size buckets.
+ *
+ * "Is there food at this cell" scans only the cell's bucket, so it stays O(1)
+ * while items are spread over the board. Nearest-food queries search buckets
+ * in growing rings around the origin and stop once no closer item can exist.
+ * Eaten items are counted and replaced together by {@link #respawnPending}.
+ *
+ * Item state is kept in parallel primitive arrays indexed by item id; ids are
+ * recycled, so steady-state play does not allocate.
+ */
+public class FoodField {
+
+    private static final int BUCKET_SHIFT = 4; // 16x16 cells per bucket
+    private static final int BUCKET_SIZE  = 1 << BUCKET_SHIFT;
+    private static final FoodType[] TYPES = FoodType.values();
+    private static final int TOTAL_WEIGHT = Arrays.stream(TYPES).mapToInt(FoodType::getSpawnWeight).sum();
+
+    private final int cols;
+    private final int rows;
+    private final int bucketCols;
+    private final int bucketRows;
+    private final Random random;
+
+    // ---- Items, indexed by id ----
+    private final int[]  itemX;
+    private final int[]  itemY;
+    private final byte[] itemType;      // FoodType ordinal, -1 when the id is free
+    private final int[]  itemBucketPos; // index inside its bucket's list
+    private final int[]  freeIds;
+    private int freeTop;
+    private int count;
+    private int pendingRespawns;
+    private ItemVisitor spawnListener;
+
+    // ---- Buckets ----
+    private final int[][] bucketItems;
+    private final int[]   bucketCount;
+
+    public FoodField(int cols, int rows, int capacity, Random random) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        this.cols       = cols;
+        this.rows       = rows;
+        this.bucketCols = (cols + BUCKET_SIZE - 1) >> BUCKET_SHIFT;
+        this.bucketRows = (rows + BUCKET_SIZE - 1) >> BUCKET_SHIFT;
+        this.random     = random;
+
+        itemX         = new int[capacity];
+        itemY         = new int[capacity];
+        itemType      = new byte[capacity];
+        itemBucketPos = new int[capacity];
+        freeIds       = new int[capacity];
+        Arrays.fill(itemType, (byte) -1);
+        for (int i = 0; i < capacity; i++) {
+            freeIds[i] = capacity - 1 - i;
+        }
+        freeTop = capacity;
+
+        bucketItems = new int[bucketCols * bucketRows][];
+        bucketCount = new int[bucketCols * bucketRows];
+    }
+
+    // ---------------------------------------------------------------
+    // Spawning
+    // ---------------------------------------------------------------
+
+    /** Spawns items until the field is at capacity (or no free cell is found). */
+    public void fill(LevelMap level, Snake snake) {
+        pendingRespawns = 0;
+        spawn(level, snake, freeTop);
+    }
+
+    /** Replaces every item eaten since the last call, in one batch. */
+    public void respawnPending(LevelMap level, Snake snake) {
+        int n = pendingRespawns;
+        pendingRespawns = 0;
+        spawn(level, snake, n);
+    }
+
+    /** Forgets eaten items instead of replacing them. */
+    public void cancelPendingRespawns() {
+        pendingRespawns = 0;
+    }
+
+    /**
+     * Adds up to {@code count} items on random free cells.
+     *
+     * @return how many were placed; fewer when the field is full or no free cell is found
+     */
+    public int spawn(LevelMap level, Snake snake, int count) {
+        long maxAttempts = (long) cols * rows * 2;
+        int placed = 0;
+        while (placed < count && freeTop > 0) {
+            long attempts = 0;
+            int x, y;
+            do {
+                x = random.nextInt(cols);
+                y = random.nextInt(rows);
+                // Safety: avoid infinite loop if board is almost full
+                if (++attempts > maxAttempts) return placed;
+            } while (level.isBlocked(x, y) || level.isPortal(x, y)
+                    || itemAt(x, y) >= 0 || snake.contains(x, y));
+            add(x, y, pickType());
+            placed++;
+        }
+        return placed;
+    }
+
+    /** Called with every item added from now on, by any spawn or place call; may be null. */
+    public void setSpawnListener(ItemVisitor listener) {
+        this.spawnListener = listener;
+    }
+
+    /** Adds an item at an exact cell, e.g. when restoring a snapshot. Ignored when the field is full. */
+    public void place(int x, int y, FoodType type) {
+        if (freeTop > 0 && itemAt(x, y) < 0) add(x, y, type);
+    }
+
+    private FoodType pickType() {
+        int roll = random.nextInt(TOTAL_WEIGHT);
+        for (FoodType t : TYPES) {
+            roll -= t.getSpawnWeight();
+            if (roll < 0) return t;
+        }
+        return TYPES[0];
+    }
+
+    private void add(int x, int y, FoodType type) {
+        int id = freeIds[--freeTop];
+        itemX[id]    = x;
+        itemY[id]    = y;
+        itemType[id] = (byte) type.ordinal();
+
+        int b = bucketOf(x, y);
+        int[] list = bucketItems[b];
+        int n = bucketCount[b];
+        if (list == null) {
+            list = bucketItems[b] = new int[4];
+        } else if (n == list.length) {
+            list = bucketItems[b] = Arrays.copyOf(list, n * 2);
+        }
+        list[n] = id;
+        itemBucketPos[id] = n;
+        bucketCount[b] = n + 1;
+        count++;
+        if (spawnListener != null) spawnListener.visit(x, y, type);
+    }
+
+    // ---------------------------------------------------------------
+    // Queries
+    // ---------------------------------------------------------------
+
+    /** Id of the item at the cell, or -1. */
+    public int itemAt(int x, int y) {
+        int b = bucketOf(x, y);
+        int[] list = bucketItems[b];
+        for (int i = 0, n = bucketCount[b]; i < n; i++) {
+            int id = list[i];
+            if (itemX[id] == x && itemY[id] == y) return id;
+        }
+        return -1;
+    }
+
+    /**
+     * Removes the item at the cell, if any, and schedules its replacement.
+     *
+     * @return the eaten item's type, or null when the cell is empty
+     */
+    public FoodType eatAt(int x, int y) {
+        int id = itemAt(x, y);
+        if (id < 0) return null;
+        FoodType type = TYPES[itemType[id]];
+
+        int b = bucketOf(x, y);
+        int[] list = bucketItems[b];
+        int last = --bucketCount[b];
+        int pos = itemBucketPos[id];
+        list[pos] = list[last];
+        itemBucketPos[list[pos]] = pos;
+
+        itemType[id] = -1;
+        freeIds[freeTop++] = id;
+        count--;
+        pendingRespawns++;
+        return type;
+    }
+
+    /**
+     * Id of the item closest to (x, y) by Manhattan distance, or -1 when the field is empty.
+     * Distances ignore wrap mode.
+     */
+    public int nearest(int x, int y) {
+        if (count == 0) return -1;
+        int bx = x >> BUCKET_SHIFT;
+        int by = y >> BUCKET_SHIFT;
+        int maxRing = Math.max(Math.max(bx, bucketCols - 1 - bx), Math.max(by, bucketRows - 1 - by));
+
+        int best = -1;
+        int bestDist = Integer.MAX_VALUE;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Every cell in this ring is at least (ring - 1) * BUCKET_SIZE + 1 away
+            if (ring > 0 && bestDist <= (ring - 1) * BUCKET_SIZE + 1) break;
+            for (int ry = by - ring; ry <= by + ring; ry++) {
+                if (ry < 0 || ry >= bucketRows) continue;
+                // Full rows at the ring's top and bottom, only the two side buckets in between
+                int step = (ry == by - ring || ry == by + ring) ? 1 : 2 * ring;
+                for (int rx = bx - ring; rx <= bx + ring; rx += step) {
+                    if (rx < 0 || rx >= bucketCols) continue;
+                    int b = ry * bucketCols + rx;
+                    int[] list = bucketItems[b];
+                    for (int i = 0, n = bucketCount[b]; i < n; i++) {
+                        int id = list[i];
+                        int d = Math.abs(itemX[id] - x) + Math.abs(itemY[id] - y);
+                        if (d < bestDist) {
+                            bestDist = d;
+                            best = id;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /** Visits every live item; intended for rendering. */
+    public void forEach(ItemVisitor visitor) {
+        for (int id = 0; id < itemType.length; id++) {
+            if (itemType[id] >= 0) visitor.visit(itemX[id], itemY[id], TYPES[itemType[id]]);
+        }
+    }
+
+    /** Visits the live items inside a rectangle of cells, scanning only the buckets it overlaps. */
+    public void forEachIn(int x, int y, int width, int height, ItemVisitor visitor) {
+        int x1 = Math.min(x + width, cols) - 1;
+        int y1 = Math.min(y + height, rows) - 1;
+        int x0 = Math.max(x, 0);
+        int y0 = Math.max(y, 0);
+        for (int by = y0 >> BUCKET_SHIFT; by <= y1 >> BUCKET_SHIFT; by++) {
+            for (int bx = x0 >> BUCKET_SHIFT; bx <= x1 >> BUCKET_SHIFT; bx++) {
+                int b = by * bucketCols + bx;
+                int[] list = bucketItems[b];
+                for (int i = 0, n = bucketCount[b]; i < n; i++) {
+                    int id = list[i];
+                    int ix = itemX[id];
+                    int iy = itemY[id];
+                    if (ix >= x0 && ix <= x1 && iy >= y0 && iy <= y1) visitor.visit(ix, iy, TYPES[itemType[id]]);
+                }
+            }
+        }
+    }
+
+    public int      size()          { return count; }
+    public int      capacity()      { return itemType.length; }
+    public int      getX(int id)    { return itemX[id]; }
+    public int      getY(int id)    { return itemY[id]; }
+    public FoodType getType(int id) { return TYPES[itemType[id]]; }
+
+    private int bucketOf(int x, int y) {
+        return (y >> BUCKET_SHIFT) * bucketCols + (x >> BUCKET_SHIFT);
+    }
+
+    @FunctionalInterface
+    public interface ItemVisitor {
+        void visit(int x, int y, FoodType type);
+    }
+}
@@ -0,0 +1,24 @@
+package burp.model;
+
+public enum FoodType {
+    APPLE(1, 80),
+    BERRY(2, 15),
+    GOLDEN(5, 5);
+
+    private final int value;
+    private final int spawnWeight; // relative chance of spawning, out of the sum of all weights
+
+    FoodType(int value, int spawnWeight) {
+        this.value = value;
+        this.spawnWeight = spawnWeight;
+    }
+
+    /** Score multiplier applied to the difficulty's base gain. */
+    public int getValue() {
+        return value;
+    }
+
+    public int getSpawnWeight() {
+        return spawnWeight;
+    }
+}
@@ -0,0 +1,355 @@
+package burp.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Immutable board layout: size, wall cells, portal pairs and the snake's spawn.
+ *
+ * Walls and portal entrances are compiled into bitsets so collision checks in
+ * the game loop are a single bit test, whatever the map contains.
+ *
+ * Binary format (big-endian), see {@link #load(Path)} / {@link #write(Path)}:
+ * <pre>
+ *   int    magic "SNKL"
+ *   byte   version
+ *   int    cols, rows
+ *   int    spawnX, spawnY
+ *   byte   spawn direction ordinal
+ *   int    portal pair count, then per pair: int ax, ay, bx, by
+ *   varint run lengths over row-major cells, alternating open / wall,
+ *          starting with open, until cols * rows cells are covered
+ * </pre>
+ */
+public final class LevelMap {
+
+    public static final int MAGIC          = 0x534E4B4C; // "SNKL"
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int  FIXED_BYTES_AFTER_SIZE = 4 + 4 + 1 + 4;  // spawn x, y, direction, portal count
+    private static final long MAX_CELLS_PER_RUN_BYTE = 1L << 29;       // a 5-byte run covers < 2^31 cells
+
+    private final int cols;
+    private final int rows;
+    private final long[] walls;
+    private final long[] portals;
+    private final int[]  portalFrom; // sorted cell indices
+    private final int[]  portalTo;
+    private final Point     spawn;
+    private final Direction spawnDirection;
+
+    private LevelMap(int cols, int rows, long[] walls, int[] pairs, Point spawn, Direction spawnDirection) {
+        this.cols           = cols;
+        this.rows           = rows;
+        this.walls          = walls;
+        this.spawn          = spawn;
+        this.spawnDirection = spawnDirection;
+
+        // Each pair works in both directions
+        int links = pairs.length / 2;
+        long[] sorted = new long[links];
+        for (int i = 0; i < pairs.length; i += 4) {
+            int a = pairs[i + 1] * cols + pairs[i];
+            int b = pairs[i + 3] * cols + pairs[i + 2];
+            sorted[i / 2]     = ((long) a << 32) | b;
+            sorted[i / 2 + 1] = ((long) b << 32) | a;
+        }
+        Arrays.sort(sorted);
+        portals    = new long[walls.length];
+        portalFrom = new int[links];
+        portalTo   = new int[links];
+        for (int i = 0; i < links; i++) {
+            portalFrom[i] = (int) (sorted[i] >>> 32);
+            portalTo[i]   = (int) sorted[i];
+            setBit(portals, portalFrom[i]);
+        }
+        validate(pairs);
+    }
+
+    /** An open board of the given size with the classic centre spawn facing right. */
+    public static LevelMap empty(int cols, int rows) {
+        return new Builder(cols, rows).build();
+    }
+
+    // ---------------------------------------------------------------
+    // Queries (hot path)
+    // ---------------------------------------------------------------
+
+    /** True if the cell is a wall. Coordinates must be on the board. */
+    public boolean isBlocked(int x, int y) {
+        int i = y * cols + x;
+        return (walls[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /** True if the cell is a portal entrance. Coordinates must be on the board. */
+    public boolean isPortal(int x, int y) {
+        int i = y * cols + x;
+        return (portals[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /** Exit cell for the portal at (x, y), or null if the cell is not a portal. */
+    public Point portalExit(int x, int y) {
+        if (!isPortal(x, y)) return null;
+        int to = portalTo[Arrays.binarySearch(portalFrom, y * cols + x)];
+        return new Point(to % cols, to / cols);
+    }
+
+    public int       getCols()           { return cols; }
+    public int       getRows()           { return rows; }
+    public Point     getSpawn()          { return spawn; }
+    public Direction getSpawnDirection() { return spawnDirection; }
+    public int       getPortalCount()    { return portalFrom.length / 2; }
+
+    // ---------------------------------------------------------------
+    // Binary format
+    // ---------------------------------------------------------------
+
+    /** Loads a level file through a read-only memory mapping. */
+    public static LevelMap load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return decode(buf);
+        }
+    }
+
+    public static LevelMap decode(ByteBuffer buf) throws IOException {
+        try {
+            if (buf.getInt() != MAGIC) throw new IOException("Not a level file");
+            int version = buf.get();
+            if (version != FORMAT_VERSION) throw new IOException("Unsupported level version " + version);
+
+            int cols = buf.getInt();
+            int rows = buf.getInt();
+            // Runs must cover every cell before the bitsets are sized from the header:
+            // reject sizes the rest of the file cannot possibly encode
+            long runBytes = buf.remaining() - FIXED_BYTES_AFTER_SIZE;
+            if ((long) cols * rows > Math.max(0, runBytes) * MAX_CELLS_PER_RUN_BYTE) {
+                throw new IOException("Level claims " + cols + "x" + rows + " cells in " + buf.remaining() + " bytes");
+            }
+            Builder builder = new Builder(cols, rows);
+            int sx = buf.getInt();
+            int sy = buf.getInt();
+            int sd = buf.get();
+            if (sd < 0 || sd >= Direction.values().length) throw new IOException("Bad spawn direction " + sd);
+            builder.spawn(sx, sy, Direction.values()[sd]);
+
+            int pairCount = buf.getInt();
+            if (pairCount < 0 || pairCount > builder.cells / 2) throw new IOException("Bad portal count " + pairCount);
+            for (int i = 0; i < pairCount; i++) {
+                builder.portal(buf.getInt(), buf.getInt(), buf.getInt(), buf.getInt());
+            }
+
+            long cell = 0;
+            boolean wall = false;
+            while (cell < builder.cells) {
+                long run = readVarint(buf);
+                if (run > builder.cells - cell) throw new IOException("Run overflows board");
+                if (wall) setRange(builder.walls, (int) cell, (int) (cell + run));
+                cell += run;
+                wall = !wall;
+            }
+            return builder.build();
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated level file", e);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid level file: " + e.getMessage(), e);
+        }
+    }
+
+    public void write(Path path) throws IOException {
+        Files.write(path, encode());
+    }
+
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(cols);
+            out.writeInt(rows);
+            out.writeInt(spawn.x);
+            out.writeInt(spawn.y);
+            out.writeByte(spawnDirection.ordinal());
+            out.writeInt(getPortalCount());
+            for (int i = 0; i < portalFrom.length; i++) {
+                if (portalFrom[i] < portalTo[i]) {
+                    out.writeInt(portalFrom[i] % cols);
+                    out.writeInt(portalFrom[i] / cols);
+                    out.writeInt(portalTo[i] % cols);
+                    out.writeInt(portalTo[i] / cols);
+                }
+            }
+            int cells = cols * rows;
+            int cell = 0;
+            boolean wall = false;
+            while (cell < cells) {
+                int end = wall ? nextClearBit(walls, cell, cells) : nextSetBit(walls, cell, cells);
+                writeVarint(out, end - cell);
+                cell = end;
+                wall = !wall;
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // in-memory stream cannot fail
+        }
+        return bytes.toByteArray();
+    }
+
+    // ---------------------------------------------------------------
+    // Helpers
+    // ---------------------------------------------------------------
+
+    private void validate(int[] pairs) {
+        if (isBlocked(spawn.x, spawn.y) || isPortal(spawn.x, spawn.y)) {
+            throw new IllegalArgumentException("Spawn " + spawn + " is not an open cell");
+        }
+        for (int i = 0; i < portalFrom.length; i++) {
+            if ((walls[portalFrom[i] >>> 6] & (1L << portalFrom[i])) != 0) {
+                throw new IllegalArgumentException("Portal on a wall at cell " + portalFrom[i]);
+            }
+            if (i > 0 && portalFrom[i] == portalFrom[i - 1]) {
+                throw new IllegalArgumentException("Cell " + portalFrom[i] + " used by two portals");
+            }
+        }
+    }
+
+    private static void setBit(long[] bits, int i) {
+        bits[i >>> 6] |= 1L << i;
+    }
+
+    /** Sets bits [from, to) a word at a time. */
+    private static void setRange(long[] bits, int from, int to) {
+        if (from >= to) return;
+        int first = from >>> 6;
+        int last  = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask  = -1L >>> -to;
+        if (first == last) {
+            bits[first] |= firstMask & lastMask;
+            return;
+        }
+        bits[first] |= firstMask;
+        Arrays.fill(bits, first + 1, last, -1L);
+        bits[last] |= lastMask;
+    }
+
+    private static int nextSetBit(long[] bits, int from, int limit) {
+        int w = from >>> 6;
+        long word = bits[w] & (-1L << from);
+        while (word == 0) {
+            if (++w >= bits.length) return limit;
+            word = bits[w];
+        }
+        return Math.min(limit, (w << 6) + Long.numberOfTrailingZeros(word));
+    }
+
+    private static int nextClearBit(long[] bits, int from, int limit) {
+        int w = from >>> 6;
+        long word = ~bits[w] & (-1L << from);
+        while (word == 0) {
+            if (++w >= bits.length) return limit;
+            word = ~bits[w];
+        }
+        return Math.min(limit, (w << 6) + Long.numberOfTrailingZeros(word));
+    }
+
+    private static long readVarint(ByteBuffer buf) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buf.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IOException("Malformed run length");
+    }
+
+    private static void writeVarint(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    // ---------------------------------------------------------------
+    // Builder
+    // ---------------------------------------------------------------
+
+    /** Mutable assembly of a map; {@link #build()} compiles it into an immutable {@link LevelMap}. */
+    public static final class Builder {
+        private final int cols;
+        private final int rows;
+        private final int cells;
+        private final long[] walls;
+        private int[] pairs = new int[0];
+        private int pairInts;
+        private Point     spawn;
+        private Direction spawnDirection = Direction.RIGHT;
+
+        public Builder(int cols, int rows) {
+            if (cols <= 0 || rows <= 0 || (long) cols * rows > Integer.MAX_VALUE - 63) {
+                throw new IllegalArgumentException("Invalid board size " + cols + "x" + rows);
+            }
+            this.cols  = cols;
+            this.rows  = rows;
+            this.cells = cols * rows;
+            this.walls = new long[(cells + 63) >>> 6];
+            this.spawn = new Point(cols / 2, rows / 2);
+        }
+
+        public Builder wall(int x, int y) {
+            setBit(walls, index(x, y));
+            return this;
+        }
+
+        /** Fills the rectangle [x, x + w) x [y, y + h) with walls. */
+        public Builder wallRect(int x, int y, int w, int h) {
+            index(x, y);
+            index(x + w - 1, y + h - 1);
+            for (int row = y; row < y + h; row++) {
+                int start = row * cols + x;
+                setRange(walls, start, start + w);
+            }
+            return this;
+        }
+
+        /** Links two cells; entering either one moves the head to the other. */
+        public Builder portal(int ax, int ay, int bx, int by) {
+            index(ax, ay);
+            index(bx, by);
+            if (ax == bx && ay == by) throw new IllegalArgumentException("Portal links a cell to itself");
+            if (pairInts + 4 > pairs.length) pairs = Arrays.copyOf(pairs, Math.max(8, pairs.length * 2));
+            pairs[pairInts++] = ax;
+            pairs[pairInts++] = ay;
+            pairs[pairInts++] = bx;
+            pairs[pairInts++] = by;
+            return this;
+        }
+
+        public Builder spawn(int x, int y, Direction direction) {
+            index(x, y);
+            this.spawn          = new Point(x, y);
+            this.spawnDirection = direction;
+            return this;
+        }
+
+        public LevelMap build() {
+            return new LevelMap(cols, rows, walls.clone(), Arrays.copyOf(pairs, pairInts), spawn, spawnDirection);
+        }
+
+        private int index(int x, int y) {
+            if (x < 0 || x >= cols || y < 0 || y >= rows) {
+                throw new IllegalArgumentException("Cell (" + x + ", " + y + ") is off the board");
+            }
+            return y * cols + x;
+        }
+    }
+}
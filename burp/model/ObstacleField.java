@@ -0,0 +1,66 @@
+package burp.model;
+
+import java.util.Arrays;
+
+/**
+ * Temporary obstacles added during play. Cells are held in a bitset for
+ * single-bit collision tests and in a FIFO ring, so once the field is full
+ * each new obstacle replaces the oldest one.
+ */
+public class ObstacleField {
+
+    private final int    cols;
+    private final long[] mask;
+    private final int[]  ring;  // packed cells, oldest at head
+    private int head;
+    private int count;
+
+    public ObstacleField(int cols, int rows, int capacity) {
+        this.cols = cols;
+        this.mask = new long[(cols * rows + 63) >>> 6];
+        this.ring = new int[capacity];
+    }
+
+    public boolean contains(int x, int y) {
+        int i = y * cols + x;
+        return (mask[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * Adds an obstacle, evicting the oldest when at capacity.
+     * @return the evicted packed cell, or -1 if none was evicted
+     */
+    public int add(int x, int y) {
+        if (contains(x, y)) return -1;
+        int evicted = -1;
+        if (count == ring.length) {
+            evicted = ring[head];
+            mask[evicted >>> 6] &= ~(1L << evicted);
+            head = (head + 1) % ring.length;
+            count--;
+        }
+        int cell = y * cols + x;
+        ring[(head + count) % ring.length] = cell;
+        mask[cell >>> 6] |= 1L << cell;
+        count++;
+        return evicted;
+    }
+
+    public void clear() {
+        Arrays.fill(mask, 0L);
+        head  = 0;
+        count = 0;
+    }
+
+    /** Packed cells ({@code y * cols + x}), oldest first. */
+    public int[] toPackedArray() {
+        int[] out = new int[count];
+        for (int i = 0; i < count; i++) {
+            out[i] = ring[(head + i) % ring.length];
+        }
+        return out;
+    }
+
+    public int size()     { return count; }
+    public int capacity() { return ring.length; }
+}
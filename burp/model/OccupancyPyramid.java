@@ -0,0 +1,168 @@
+package burp.model;
+
+import java.util.Arrays;
+
+/**
+ * Multi-resolution occupancy counts: level {@code l} counts occupied cells
+ * per {@code 2^l x 2^l} block, from 2x2 up to one block covering the board.
+ *
+ * Adding or removing a cell touches one counter per level, so keeping the
+ * pyramid in step with a moving snake is O(levels) per step. Counters use
+ * the narrowest type that can hold a full block, which keeps an 8192x8192
+ * board at about 22 MB.
+ *
+ * One level at a time can record which of its blocks changed, so a minimap
+ * drawn from that level only redraws those blocks.
+ */
+public class OccupancyPyramid {
+
+    private static final int BYTE_LEVELS = 3; // full 8x8 block = 64
+    private static final int CHAR_LEVELS = 7; // full 128x128 block = 16384
+
+    private final int cols;
+    private final int rows;
+    private final int levels;
+    private final int[] blockCols; // per level
+    private final int[] blockRows;
+
+    // Exactly one of these is non-null for each level
+    private final byte[][] byteCounts;
+    private final char[][] charCounts;
+    private final int[][]  intCounts;
+
+    // ---- Change tracking for one level ----
+    private int       trackedLevel = -1;
+    private boolean[] changed;
+    private int[]     changedList;
+    private int       changedCount;
+    private int       generation;
+
+    public OccupancyPyramid(int cols, int rows) {
+        if (cols <= 0 || rows <= 0) throw new IllegalArgumentException("Empty board " + cols + "x" + rows);
+        this.cols   = cols;
+        this.rows   = rows;
+        this.levels = Math.max(1, 32 - Integer.numberOfLeadingZeros(Math.max(cols, rows) - 1));
+        blockCols  = new int[levels + 1];
+        blockRows  = new int[levels + 1];
+        byteCounts = new byte[levels + 1][];
+        charCounts = new char[levels + 1][];
+        intCounts  = new int[levels + 1][];
+        for (int l = 1; l <= levels; l++) {
+            blockCols[l] = ((cols - 1) >> l) + 1;
+            blockRows[l] = ((rows - 1) >> l) + 1;
+            int blocks = blockCols[l] * blockRows[l];
+            if (l <= BYTE_LEVELS) {
+                byteCounts[l] = new byte[blocks];
+            } else if (l <= CHAR_LEVELS) {
+                charCounts[l] = new char[blocks];
+            } else {
+                intCounts[l] = new int[blocks];
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // Updates
+    // ---------------------------------------------------------------
+
+    public void add(int x, int y) {
+        update(x, y, 1);
+    }
+
+    public void remove(int x, int y) {
+        update(x, y, -1);
+    }
+
+    private void update(int x, int y, int delta) {
+        for (int l = 1; l <= levels; l++) {
+            int i = (y >> l) * blockCols[l] + (x >> l);
+            if (l <= BYTE_LEVELS) {
+                byteCounts[l][i] += (byte) delta;
+            } else if (l <= CHAR_LEVELS) {
+                charCounts[l][i] += (char) delta;
+            } else {
+                intCounts[l][i] += delta;
+            }
+            if (l == trackedLevel && !changed[i]) {
+                changed[i] = true;
+                changedList[changedCount++] = i;
+            }
+        }
+    }
+
+    /** Empties every level and bumps {@link #getGeneration()}, so viewers know to redraw fully. */
+    public void clear() {
+        for (int l = 1; l <= levels; l++) {
+            if (byteCounts[l] != null) Arrays.fill(byteCounts[l], (byte) 0);
+            if (charCounts[l] != null) Arrays.fill(charCounts[l], (char) 0);
+            if (intCounts[l]  != null) Arrays.fill(intCounts[l], 0);
+        }
+        clearChanges();
+        generation++;
+    }
+
+    // ---------------------------------------------------------------
+    // Queries
+    // ---------------------------------------------------------------
+
+    /** Occupied cells in block (bx, by) of the level, 1 to {@link #getLevels()}. */
+    public int count(int level, int bx, int by) {
+        return countAt(level, by * blockCols[level] + bx);
+    }
+
+    private int countAt(int level, int i) {
+        if (level <= BYTE_LEVELS) return byteCounts[level][i];
+        if (level <= CHAR_LEVELS) return charCounts[level][i];
+        return intCounts[level][i];
+    }
+
+    /** Finest level whose block grid is at most {@code maxBlocks} blocks on each side. */
+    public int levelFitting(int maxBlocks) {
+        for (int l = 1; l <= levels; l++) {
+            if (blockCols[l] <= maxBlocks && blockRows[l] <= maxBlocks) return l;
+        }
+        return levels;
+    }
+
+    public int getCols()                { return cols; }
+    public int getRows()                { return rows; }
+    public int getLevels()              { return levels; }
+    public int getBlockCols(int level)  { return blockCols[level]; }
+    public int getBlockRows(int level)  { return blockRows[level]; }
+    public int getGeneration()          { return generation; }
+
+    // ---------------------------------------------------------------
+    // Change tracking
+    // ---------------------------------------------------------------
+
+    /** Starts recording changed blocks of one level, replacing any level tracked before. */
+    public void trackChanges(int level) {
+        if (level < 1 || level > levels) throw new IllegalArgumentException("No level " + level);
+        if (level == trackedLevel) return;
+        int blocks = blockCols[level] * blockRows[level];
+        trackedLevel = level;
+        changed      = new boolean[blocks];
+        changedList  = new int[blocks];
+        changedCount = 0;
+    }
+
+    public int getTrackedLevel()  { return trackedLevel; }
+    public int getChangedCount()  { return changedCount; }
+
+    /** Index ({@code by * blockCols + bx}) of the i-th block changed since {@link #clearChanges()}. */
+    public int getChangedBlock(int i) {
+        return changedList[i];
+    }
+
+    /** Occupied cells in a block of the tracked level, by index. */
+    public int trackedCount(int index) {
+        return countAt(trackedLevel, index);
+    }
+
+    public void clearChanges() {
+        for (int i = 0; i < changedCount; i++) {
+            changed[changedList[i]] = false;
+        }
+        changedCount = 0;
+    }
+}
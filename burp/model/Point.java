@@ -1,7 +1,5 @@
 package burp.model;
 
-import java.util.Objects;
-
 public final class Point {
     public final int x;
     public final int y;
@@ -25,7 +23,7 @@ public final class Point {
 
     @Override
     public int hashCode() {
-        return Objects.hash(x, y);
+        return 31 * x + y; // same spread as Objects.hash(x, y), without boxing both coordinates
     }
 
     @Override
@@ -3,28 +3,55 @@ package burp.model;
 import java.util.ArrayDeque;
 import java.util.Collections;
 import java.util.Deque;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Represents the snake: an ordered deque of grid cells (head first).
  */
 public class Snake {
 
-    private final Deque<Point> body    = new ArrayDeque<>();
-    private final Set<Point>  bodySet = new HashSet<>(); // O(1) containment check
+    private final Deque<Point> body;
+    private final CellSet      bodySet; // O(1) containment check without a Point per probe
 
     private Direction currentDirection;
     private Direction pendingDirection;
+    private OccupancyPyramid occupancy; // optional, kept in step with body
 
     public Snake(Point startPosition, Direction startDirection) {
+        body    = new ArrayDeque<>();
+        bodySet = new CellSet(16);
         body.addFirst(startPosition);
-        bodySet.add(startPosition);
+        bodySet.add(startPosition.x, startPosition.y);
         currentDirection = startDirection;
         pendingDirection = startDirection;
     }
 
+    /** Rebuilds a snake from its cells (head first), e.g. when restoring a snapshot. */
+    public Snake(List<Point> cells, Direction currentDirection, Direction pendingDirection) {
+        if (cells.isEmpty()) throw new IllegalArgumentException("Snake needs at least one cell");
+        body    = new ArrayDeque<>(cells.size() + 1);
+        bodySet = new CellSet(cells.size() + 1); // sized once, no rehashing on large boards
+        for (Point p : cells) {
+            body.addLast(p);
+            bodySet.add(p.x, p.y);
+        }
+        this.currentDirection = currentDirection;
+        this.pendingDirection = pendingDirection;
+    }
+
+    /**
+     * Mirrors the body into a pyramid from now on: it is cleared and filled
+     * once here, then updated in O(levels) per step. Null stops tracking.
+     */
+    public void trackOccupancy(OccupancyPyramid pyramid) {
+        this.occupancy = pyramid;
+        if (pyramid == null) return;
+        pyramid.clear();
+        for (Point p : body) {
+            pyramid.add(p.x, p.y);
+        }
+    }
+
     /** Queues a direction change; reverse direction is ignored. */
     public void setDesiredDirection(Direction desired) {
         if (!currentDirection.isOpposite(desired)) {
@@ -47,11 +74,13 @@ public class Snake {
     public void moveTo(Point nextHead, boolean grow) {
         // currentDirection already flushed by GameEngine via flushPendingDirection()
         body.addFirst(nextHead);
-        bodySet.add(nextHead);
+        bodySet.add(nextHead.x, nextHead.y);
+        if (occupancy != null) occupancy.add(nextHead.x, nextHead.y);
 
         if (!grow) {
             Point tail = body.removeLast();
-            bodySet.remove(tail);
+            bodySet.remove(tail.x, tail.y); // counted, so a head that just entered this cell keeps it
+            if (occupancy != null) occupancy.remove(tail.x, tail.y);
         }
     }
 
@@ -69,8 +98,17 @@ public class Snake {
         return body.peekFirst();
     }
 
+    public Point getTail() {
+        return body.peekLast();
+    }
+
     public boolean containsPoint(Point p) {
-        return bodySet.contains(p);
+        return contains(p.x, p.y);
+    }
+
+    /** Whether any segment occupies cell (x, y); allocation-free, for per-cell probes. */
+    public boolean contains(int x, int y) {
+        return bodySet.contains(x, y);
     }
 
     public List<Point> getBodyAsList() {
@@ -84,4 +122,8 @@ public class Snake {
     public Direction getCurrentDirection() {
         return currentDirection;
     }
+
+    public Direction getPendingDirection() {
+        return pendingDirection;
+    }
 }
@@ -0,0 +1,34 @@
+package burp.traffic;
+
+import burp.IInterceptedProxyMessage;
+import burp.IProxyListener;
+import burp.engine.TrafficFeed;
+
+/**
+ * Feeds proxied traffic into the game. Runs on Burp's proxy threads, so it
+ * only bumps the feed's lock-free counters and never touches Swing or the engine.
+ *
+ * The legacy API has no status-code accessor: {@code getResponse()} is the
+ * cheapest way to the status line ({@code analyzeResponse} would also parse
+ * every header), and Burp may copy the whole response to return it. So the
+ * response is only fetched while traffic mode is on, and only its first
+ * bytes are read.
+ */
+public class ProxyTrafficListener implements IProxyListener {
+
+    private final TrafficFeed feed;
+
+    public ProxyTrafficListener(TrafficFeed feed) {
+        this.feed = feed;
+    }
+
+    @Override
+    public void processProxyMessage(boolean messageIsRequest, IInterceptedProxyMessage message) {
+        if (!feed.isEnabled()) return;
+        if (messageIsRequest) {
+            feed.recordRequest();
+        } else {
+            feed.recordResponse(message.getMessageInfo().getResponse());
+        }
+    }
+}
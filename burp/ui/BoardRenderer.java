@@ -0,0 +1,406 @@
+package burp.ui;
+
+import burp.engine.GameEngine;
+import burp.model.Direction;
+import burp.model.Food;
+import burp.model.FoodField;
+import burp.model.FoodType;
+import burp.model.GameState;
+import burp.model.LevelMap;
+import burp.model.ObstacleField;
+import burp.model.Point;
+import burp.model.Snake;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.util.List;
+
+/**
+ * Draws one engine's board with Graphics2D. Shared by the live panel and
+ * offscreen exports; holds no Swing component, so it can paint on any thread
+ * as long as its engine is not mutated meanwhile.
+ *
+ * Levels larger than the visible board are drawn through a viewport that
+ * follows the snake's head; only cells inside it are visited.
+ */
+public class BoardRenderer {
+
+    private static final int CELL_SIZE    = 24; // px per grid cell
+    private static final int BORDER_WIDTH = 2;
+
+    // Derived board pixel dimensions
+    static final int BOARD_WIDTH  = GameEngine.COLS * CELL_SIZE;
+    static final int BOARD_HEIGHT = GameEngine.ROWS * CELL_SIZE;
+
+    // Color palette — compatible with both Burp dark and light themes
+    static final Color COLOR_BG           = new Color(30,  30,  30);
+    private static final Color COLOR_GRID          = new Color(40,  40,  40);
+    private static final Color COLOR_BORDER        = new Color(80, 200, 120);
+    private static final Color COLOR_SNAKE_HEAD    = new Color(80, 220, 100);
+    private static final Color COLOR_SNAKE_BODY    = new Color(50, 170,  70);
+    private static final Color COLOR_SNAKE_OUTLINE = new Color(30, 120,  50);
+    private static final Color COLOR_FOOD          = new Color(255,  80,  80);
+    private static final Color COLOR_FOOD_SHINE    = new Color(255, 180, 180);
+    private static final Color COLOR_FOOD_GLOW     = new Color(255,  80,  80, 60);
+    private static final Color COLOR_BERRY         = new Color(120, 140, 255);
+    private static final Color COLOR_BERRY_GLOW    = new Color(120, 140, 255, 60);
+    private static final Color COLOR_GOLDEN        = new Color(255, 210,  60);
+    private static final Color COLOR_GOLDEN_GLOW   = new Color(255, 210,  60, 60);
+    private static final Color COLOR_TEXT_PRIMARY  = new Color(220, 220, 220);
+    private static final Color COLOR_TEXT_DIM      = new Color(140, 140, 140);
+    private static final Color COLOR_OVERLAY       = new Color(0, 0, 0, 160);
+    private static final Color COLOR_PAUSED        = new Color(255, 200, 50);
+    private static final Color COLOR_WALL          = new Color(90,  90, 100);
+    private static final Color COLOR_WALL_EDGE     = new Color(120, 120, 135);
+    private static final Color COLOR_PORTAL        = new Color(170, 110, 255);
+    private static final Color COLOR_OBSTACLE      = new Color(200, 100,  40);
+
+    private static final BasicStroke STROKE_GRID         = new BasicStroke(0.5f);
+    private static final BasicStroke STROKE_LEVEL        = new BasicStroke(1.5f);
+    private static final BasicStroke STROKE_BORDER       = new BasicStroke(BORDER_WIDTH);
+    private static final BasicStroke STROKE_HEAD_OUTLINE = new BasicStroke(1.2f);
+    private static final BasicStroke STROKE_BODY_OUTLINE = new BasicStroke(0.8f);
+
+    private static final Font FONT_OVERLAY = new Font("Monospaced", Font.BOLD, 28);
+    private static final Font FONT_SUB     = new Font("Monospaced", Font.PLAIN, 14);
+
+    private final GameEngine engine;
+    private RenderQuality quality = RenderQuality.FULL;
+    private int viewX; // top-left visible cell, updated by paint
+    private int viewY;
+
+    public BoardRenderer(GameEngine engine) {
+        this.engine = engine;
+    }
+
+    public void setQuality(RenderQuality quality) { this.quality = quality; }
+    public RenderQuality getQuality()             { return quality; }
+
+    /** Leftmost level column shown by the last {@link #paint}. */
+    public int getViewX() { return viewX; }
+
+    /** Topmost level row shown by the last {@link #paint}. */
+    public int getViewY() { return viewY; }
+
+    /** Paints the full board, overlays included, into {@code g}. Does not dispose it. */
+    public void paint(Graphics2D g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, quality.isAntialiased()
+                ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        GameState state = engine.getState();
+        updateViewport(state);
+        int shiftX = viewX * CELL_SIZE;
+        int shiftY = viewY * CELL_SIZE;
+
+        drawBackground(g2);
+        drawGrid(g2);
+        g2.translate(-shiftX, -shiftY);
+        drawLevel(g2);
+        g2.translate(shiftX, shiftY);
+        drawBorder(g2);
+
+        if (state == GameState.WAITING) {
+            drawWaitingOverlay(g2);
+        } else {
+            g2.translate(-shiftX, -shiftY);
+            drawFood(g2);
+            drawSnake(g2);
+            g2.translate(shiftX, shiftY);
+
+            if (state == GameState.PAUSED) {
+                drawPausedOverlay(g2);
+            } else if (state == GameState.GAME_OVER) {
+                drawGameOverOverlay(g2);
+            }
+        }
+
+        g2.dispose();
+    }
+
+    /** Centres the view on the head, clamped to the level; fixed at the origin when the level fits. */
+    private void updateViewport(GameState state) {
+        LevelMap level = engine.getLevel();
+        Snake snake = engine.getSnake();
+        if (state == GameState.WAITING || snake == null) {
+            viewX = viewY = 0;
+            return;
+        }
+        Point head = snake.getHead();
+        viewX = Math.clamp(head.x - GameEngine.COLS / 2, 0, Math.max(0, level.getCols() - GameEngine.COLS));
+        viewY = Math.clamp(head.y - GameEngine.ROWS / 2, 0, Math.max(0, level.getRows() - GameEngine.ROWS));
+    }
+
+    private boolean inView(int x, int y) {
+        return x >= viewX && y >= viewY && x < viewX + GameEngine.COLS && y < viewY + GameEngine.ROWS;
+    }
+
+    // ---------------------------------------------------------------
+    // Drawing helpers
+    // ---------------------------------------------------------------
+
+    private void drawBackground(Graphics2D g2) {
+        g2.setColor(COLOR_BG);
+        g2.fillRect(0, 0, BOARD_WIDTH, BOARD_HEIGHT);
+    }
+
+    private void drawGrid(Graphics2D g2) {
+        g2.setColor(COLOR_GRID);
+        g2.setStroke(STROKE_GRID);
+        for (int x = 0; x <= BOARD_WIDTH; x += CELL_SIZE) {
+            g2.drawLine(x, 0, x, BOARD_HEIGHT);
+        }
+        for (int y = 0; y <= BOARD_HEIGHT; y += CELL_SIZE) {
+            g2.drawLine(0, y, BOARD_WIDTH, y);
+        }
+    }
+
+    private void drawLevel(Graphics2D g2) {
+        LevelMap level = engine.getLevel();
+        ObstacleField obstacles = engine.getObstacles();
+        int cols = Math.min(level.getCols(), viewX + GameEngine.COLS);
+        int rows = Math.min(level.getRows(), viewY + GameEngine.ROWS);
+        boolean effects = quality.hasEffects();
+        boolean shaped  = quality.isShaped();
+        g2.setStroke(STROKE_LEVEL);
+        for (int y = viewY; y < rows; y++) {
+            for (int x = viewX; x < cols; x++) {
+                int px = x * CELL_SIZE;
+                int py = y * CELL_SIZE;
+                if (level.isBlocked(x, y)) {
+                    g2.setColor(COLOR_WALL);
+                    g2.fillRect(px + 1, py + 1, CELL_SIZE - 2, CELL_SIZE - 2);
+                    if (effects) {
+                        g2.setColor(COLOR_WALL_EDGE);
+                        g2.drawRect(px + 1, py + 1, CELL_SIZE - 2, CELL_SIZE - 2);
+                    }
+                } else if (level.isPortal(x, y)) {
+                    g2.setColor(COLOR_PORTAL);
+                    if (shaped) {
+                        g2.drawOval(px + 3, py + 3, CELL_SIZE - 6, CELL_SIZE - 6);
+                        g2.drawOval(px + 7, py + 7, CELL_SIZE - 14, CELL_SIZE - 14);
+                    } else {
+                        g2.fillRect(px + 7, py + 7, CELL_SIZE - 14, CELL_SIZE - 14);
+                    }
+                } else if (obstacles != null && obstacles.contains(x, y)) {
+                    g2.setColor(COLOR_OBSTACLE);
+                    if (shaped) {
+                        g2.fillRoundRect(px + 2, py + 2, CELL_SIZE - 4, CELL_SIZE - 4, 4, 4);
+                    } else {
+                        g2.fillRect(px + 2, py + 2, CELL_SIZE - 4, CELL_SIZE - 4);
+                    }
+                }
+            }
+        }
+    }
+
+    private void drawBorder(Graphics2D g2) {
+        g2.setColor(COLOR_BORDER);
+        g2.setStroke(STROKE_BORDER);
+        g2.drawRect(BORDER_WIDTH / 2, BORDER_WIDTH / 2,
+                    BOARD_WIDTH - BORDER_WIDTH, BOARD_HEIGHT - BORDER_WIDTH);
+    }
+
+    private void drawSnake(Graphics2D g2) {
+        Snake snake = engine.getSnake();
+        if (snake == null) return;
+
+        List<Point> body = snake.getBodyAsList();
+        int pad  = 2;
+        int size = CELL_SIZE - 2 * pad;
+
+        if (!quality.isShaped()) {
+            // Flat: plain squares, one colour per part
+            g2.setColor(COLOR_SNAKE_BODY);
+            for (int i = body.size() - 1; i > 0; i--) {
+                Point p = body.get(i);
+                if (!inView(p.x, p.y)) continue;
+                g2.fillRect(p.x * CELL_SIZE + pad, p.y * CELL_SIZE + pad, size, size);
+            }
+            Point head = body.get(0);
+            g2.setColor(COLOR_SNAKE_HEAD);
+            g2.fillRect(head.x * CELL_SIZE + pad, head.y * CELL_SIZE + pad, size, size);
+            return;
+        }
+
+        boolean effects = quality.hasEffects();
+        for (int i = body.size() - 1; i >= 0; i--) {
+            Point p = body.get(i);
+            if (!inView(p.x, p.y)) continue;
+            int px = p.x * CELL_SIZE;
+            int py = p.y * CELL_SIZE;
+
+            if (i == 0) {
+                // Head
+                g2.setColor(COLOR_SNAKE_HEAD);
+                g2.fillRoundRect(px + pad, py + pad, size, size, 8, 8);
+                if (effects) {
+                    g2.setColor(COLOR_SNAKE_OUTLINE);
+                    g2.setStroke(STROKE_HEAD_OUTLINE);
+                    g2.drawRoundRect(px + pad, py + pad, size, size, 8, 8);
+                }
+                drawEyes(g2, p, snake.getCurrentDirection());
+            } else {
+                // Body — fade toward tail
+                float ratio = (float) i / body.size();
+                Color bodyColor = interpolateColor(COLOR_SNAKE_BODY, COLOR_BG, ratio * 0.35f);
+                g2.setColor(bodyColor);
+                g2.fillRoundRect(px + pad, py + pad, size, size, 5, 5);
+                if (effects) {
+                    g2.setColor(COLOR_SNAKE_OUTLINE);
+                    g2.setStroke(STROKE_BODY_OUTLINE);
+                    g2.drawRoundRect(px + pad, py + pad, size, size, 5, 5);
+                }
+            }
+        }
+    }
+
+    private void drawEyes(Graphics2D g2, Point head, Direction dir) {
+        int px = head.x * CELL_SIZE;
+        int py = head.y * CELL_SIZE;
+        int half = CELL_SIZE / 2;
+        int eyeSize = 4;
+        int eyeOffset = 5;
+
+        int ex1, ey1, ex2, ey2;
+        switch (dir) {
+            case UP -> {
+                ex1 = px + eyeOffset;      ey1 = py + eyeOffset;
+                ex2 = px + CELL_SIZE - eyeOffset - eyeSize; ey2 = ey1;
+            }
+            case DOWN -> {
+                ex1 = px + eyeOffset;      ey1 = py + CELL_SIZE - eyeOffset - eyeSize;
+                ex2 = px + CELL_SIZE - eyeOffset - eyeSize; ey2 = ey1;
+            }
+            case LEFT -> {
+                ex1 = px + eyeOffset;      ey1 = py + eyeOffset;
+                ex2 = ex1;                 ey2 = py + CELL_SIZE - eyeOffset - eyeSize;
+            }
+            default -> { // RIGHT
+                ex1 = px + CELL_SIZE - eyeOffset - eyeSize; ey1 = py + eyeOffset;
+                ex2 = ex1;                                   ey2 = py + CELL_SIZE - eyeOffset - eyeSize;
+            }
+        }
+        g2.setColor(Color.BLACK);
+        g2.fillOval(ex1, ey1, eyeSize, eyeSize);
+        g2.fillOval(ex2, ey2, eyeSize, eyeSize);
+        g2.setColor(Color.WHITE);
+        g2.fillOval(ex1 + 1, ey1 + 1, eyeSize / 2, eyeSize / 2);
+        g2.fillOval(ex2 + 1, ey2 + 1, eyeSize / 2, eyeSize / 2);
+    }
+
+    private void drawFood(Graphics2D g2) {
+        FoodField field = engine.getFoodField();
+        if (field != null) {
+            field.forEachIn(viewX, viewY, GameEngine.COLS, GameEngine.ROWS,
+                            (x, y, type) -> drawFoodItem(g2, x, y, type));
+            return;
+        }
+
+        Food food = engine.getFood();
+        if (food == null || food.getPosition() == null) return;
+        Point p = food.getPosition();
+        if (inView(p.x, p.y)) drawFoodItem(g2, p.x, p.y, FoodType.APPLE);
+    }
+
+    private void drawFoodItem(Graphics2D g2, int x, int y, FoodType type) {
+        int px   = x * CELL_SIZE;
+        int py   = y * CELL_SIZE;
+        int pad  = 3;
+        int size = CELL_SIZE - 2 * pad;
+
+        Color body = switch (type) {
+            case APPLE  -> COLOR_FOOD;
+            case BERRY  -> COLOR_BERRY;
+            case GOLDEN -> COLOR_GOLDEN;
+        };
+        Color glow = switch (type) {
+            case APPLE  -> COLOR_FOOD_GLOW;
+            case BERRY  -> COLOR_BERRY_GLOW;
+            case GOLDEN -> COLOR_GOLDEN_GLOW;
+        };
+
+        if (!quality.isShaped()) {
+            g2.setColor(body);
+            g2.fillRect(px + pad, py + pad, size, size);
+            return;
+        }
+
+        // Glow effect
+        if (quality.hasEffects()) {
+            g2.setColor(glow);
+            g2.fillOval(px + pad - 2, py + pad - 2, size + 4, size + 4);
+        }
+
+        // Food circle
+        g2.setColor(body);
+        g2.fillOval(px + pad, py + pad, size, size);
+
+        // Shine
+        if (quality.hasEffects()) {
+            g2.setColor(COLOR_FOOD_SHINE);
+            g2.fillOval(px + pad + 2, py + pad + 2, size / 3, size / 3);
+        }
+    }
+
+    private void drawWaitingOverlay(Graphics2D g2) {
+        drawDimOverlay(g2);
+        g2.setColor(COLOR_TEXT_PRIMARY);
+        g2.setFont(FONT_OVERLAY);
+        drawCenteredString(g2, "SNAKE 🐍", BOARD_HEIGHT / 2 - 30);
+        g2.setFont(FONT_SUB);
+        g2.setColor(COLOR_TEXT_DIM);
+        drawCenteredString(g2, "Press ENTER or click Start to play", BOARD_HEIGHT / 2 + 10);
+        drawCenteredString(g2, "Arrow Keys / WASD to move  |  P to pause  |  R to restart", BOARD_HEIGHT / 2 + 32);
+    }
+
+    private void drawPausedOverlay(Graphics2D g2) {
+        drawDimOverlay(g2);
+        g2.setColor(COLOR_PAUSED);
+        g2.setFont(FONT_OVERLAY);
+        drawCenteredString(g2, "PAUSED", BOARD_HEIGHT / 2 - 14);
+        g2.setFont(FONT_SUB);
+        g2.setColor(COLOR_TEXT_DIM);
+        drawCenteredString(g2, "Press P or ESC to resume", BOARD_HEIGHT / 2 + 18);
+    }
+
+    private void drawGameOverOverlay(Graphics2D g2) {
+        drawDimOverlay(g2);
+        g2.setColor(new Color(255, 80, 80));
+        g2.setFont(FONT_OVERLAY);
+        drawCenteredString(g2, "GAME OVER", BOARD_HEIGHT / 2 - 40);
+        g2.setFont(FONT_SUB);
+        g2.setColor(COLOR_TEXT_PRIMARY);
+        drawCenteredString(g2, "Score: " + engine.getScore(), BOARD_HEIGHT / 2 - 4);
+        drawCenteredString(g2, "High Score: " + engine.getHighScore(), BOARD_HEIGHT / 2 + 18);
+        g2.setColor(COLOR_TEXT_DIM);
+        drawCenteredString(g2, "Press ENTER or click Restart to play again", BOARD_HEIGHT / 2 + 42);
+    }
+
+    private void drawDimOverlay(Graphics2D g2) {
+        g2.setColor(COLOR_OVERLAY);
+        g2.fillRect(0, 0, BOARD_WIDTH, BOARD_HEIGHT);
+    }
+
+    private void drawCenteredString(Graphics2D g2, String text, int centerY) {
+        FontMetrics fm = g2.getFontMetrics();
+        int x = (BOARD_WIDTH - fm.stringWidth(text)) / 2;
+        g2.drawString(text, x, centerY);
+    }
+
+    private Color interpolateColor(Color a, Color b, float t) {
+        t = Math.max(0f, Math.min(1f, t));
+        int r = (int) (a.getRed()   + t * (b.getRed()   - a.getRed()));
+        int g = (int) (a.getGreen() + t * (b.getGreen() - a.getGreen()));
+        int bv= (int) (a.getBlue()  + t * (b.getBlue()  - a.getBlue()));
+        return new Color(r, g, bv);
+    }
+
+    public static int boardWidth()  { return BOARD_WIDTH; }
+    public static int boardHeight() { return BOARD_HEIGHT; }
+}
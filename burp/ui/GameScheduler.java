@@ -0,0 +1,302 @@
+package burp.ui;
+
+import burp.engine.GameEngine;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drives every active board from one Swing timer on the EDT.
+ *
+ * Boards sit in a hashed timing wheel keyed by their next due time, which
+ * each board's {@link GameEngine#tick()} return value (its current interval)
+ * sets. The single timer is armed for the earliest occupied slot, so a frame
+ * ticks every board that is due and then runs one render pass over them.
+ * With nothing scheduled the timer is stopped and costs no wakeups.
+ *
+ * All methods must be called on the EDT.
+ */
+public final class GameScheduler {
+
+    /** A board the scheduler can tick and repaint. */
+    public interface Board {
+        GameEngine getEngine();
+
+        /** Called right before the engine ticks, e.g. to apply a bot's move. */
+        default void beforeTick() {}
+
+        /** Called right after the engine ticked; may unschedule the board. */
+        void afterTick(int nextDelayMs);
+
+        /** Called once per frame for each board that ticked in it. */
+        void render();
+    }
+
+    private static final long SLOT_NANOS = 4_000_000L; // 4ms wheel resolution
+    private static final int  WHEEL_BITS = 7;          // 128 slots, 512ms per revolution
+    private static final int  WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int  WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private static GameScheduler shared;
+    private static int           sharedUsers; // acquireShared() calls not yet released
+
+    private final Entry[] slots = new Entry[WHEEL_SIZE];
+    private final Map<Board, Entry> entries = new IdentityHashMap<>();
+    private final List<Entry> tickedThisFrame = new ArrayList<>();
+    private final List<Entry> cancelledThisFrame = new ArrayList<>();
+    private final Timer timer;
+    private long    cursorTick;
+    private boolean inFrame;
+
+    // ---- Stats ----
+    private long ticks;
+    private long frames;
+    private long latenessSumNanos;
+    private long latenessMaxNanos;
+    private long overheadNanos;
+
+    public GameScheduler() {
+        timer = new Timer(0, e -> runFrame());
+        timer.setRepeats(false);
+        timer.setCoalesce(false);
+        cursorTick = System.nanoTime() / SLOT_NANOS;
+    }
+
+    /**
+     * The scheduler shared by all tabs in this extension. Each call must be
+     * paired with one {@link #releaseShared()}, e.g. when the tab is disposed.
+     */
+    public static GameScheduler acquireShared() {
+        checkEdt();
+        if (shared == null) shared = new GameScheduler();
+        sharedUsers++;
+        return shared;
+    }
+
+    /**
+     * Gives up one {@link #acquireShared()}. The last release stops the timer
+     * and drops the scheduler, so an unloaded extension leaves no timer
+     * behind; boards of other tabs that are merely paused keep the same one.
+     */
+    public static void releaseShared() {
+        checkEdt();
+        if (shared == null || --sharedUsers > 0) return;
+        shared.timer.stop();
+        shared = null;
+        sharedUsers = 0;
+    }
+
+    // ---------------------------------------------------------------
+    // Scheduling
+    // ---------------------------------------------------------------
+
+    /** Starts ticking a board, first tick as soon as possible. No-op if already scheduled. */
+    public void schedule(Board board) {
+        checkEdt();
+        if (entries.containsKey(board)) return;
+        if (entries.isEmpty() && !inFrame) {
+            // The cursor stopped when the wheel went idle; don't walk the idle period's slots
+            cursorTick = System.nanoTime() / SLOT_NANOS;
+        }
+        Entry e = new Entry(board);
+        entries.put(board, e);
+        e.dueNanos = System.nanoTime();
+        insert(e);
+        if (!inFrame) arm();
+    }
+
+    public void unschedule(Board board) {
+        checkEdt();
+        Entry e = entries.remove(board);
+        if (e == null) return;
+        e.cancelled = true;
+        if (inFrame) {
+            cancelledThisFrame.add(e); // the frame loop may hold a reference to it
+        } else {
+            unlink(e);
+            arm();
+        }
+    }
+
+    public boolean isScheduled(Board board) {
+        return entries.containsKey(board);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // ---------------------------------------------------------------
+    // Frame
+    // ---------------------------------------------------------------
+
+    private void runFrame() {
+        long frameStart = System.nanoTime();
+        long engineNanos = 0;
+        long nowTick = frameStart / SLOT_NANOS;
+
+        inFrame = true;
+        for (; cursorTick <= nowTick; cursorTick++) {
+            int slot = (int) (cursorTick & WHEEL_MASK);
+            Entry e = slots[slot];
+            while (e != null) {
+                Entry next = e.next;
+                if (e.cancelled) {
+                    // Unlinked after the frame
+                } else if (e.rounds > 0) {
+                    e.rounds--;
+                } else {
+                    unlink(e);
+                    long t0 = System.nanoTime();
+                    long late = t0 - e.dueNanos;
+                    e.board.beforeTick();
+                    int delay = e.board.getEngine().tick();
+                    e.board.afterTick(delay);
+                    engineNanos += System.nanoTime() - t0;
+
+                    ticks++;
+                    latenessSumNanos += Math.max(0, late);
+                    latenessMaxNanos = Math.max(latenessMaxNanos, late);
+                    if (!e.tickedThisFrame) {
+                        e.tickedThisFrame = true;
+                        tickedThisFrame.add(e);
+                    }
+
+                    if (!e.cancelled) {
+                        // Keep phase; if more than an interval behind, restart from now.
+                        // Never re-enter this frame, so a late board cannot tick twice in it.
+                        long interval = delay * 1_000_000L;
+                        e.dueNanos = Math.max(e.dueNanos + interval, t0);
+                        link(e, Math.max(e.dueNanos / SLOT_NANOS, nowTick + 1), cursorTick + 1);
+                    }
+                }
+                e = next;
+            }
+        }
+
+        inFrame = false;
+        for (Entry e : cancelledThisFrame) {
+            unlink(e);
+        }
+        cancelledThisFrame.clear();
+
+        long renderStart = System.nanoTime();
+        for (Entry e : tickedThisFrame) {
+            e.tickedThisFrame = false;
+            if (!e.cancelled) e.board.render();
+        }
+        tickedThisFrame.clear();
+        long renderNanos = System.nanoTime() - renderStart;
+
+        frames++;
+        overheadNanos += System.nanoTime() - frameStart - engineNanos - renderNanos;
+        arm();
+    }
+
+    /** Arms the timer for the earliest occupied slot, or stops it when idle. */
+    private void arm() {
+        if (entries.isEmpty()) {
+            timer.stop();
+            return;
+        }
+        long now = System.nanoTime();
+        long target = cursorTick + WHEEL_SIZE; // a full revolution if only later rounds remain
+        for (long t = cursorTick; t < cursorTick + WHEEL_SIZE; t++) {
+            if (hasDueEntry(slots[(int) (t & WHEEL_MASK)])) {
+                target = t;
+                break;
+            }
+        }
+        long delayNanos = target * SLOT_NANOS - now;
+        timer.setInitialDelay((int) Math.max(0, (delayNanos + 999_999L) / 1_000_000L)); // never early
+        timer.restart();
+    }
+
+    private static boolean hasDueEntry(Entry head) {
+        for (Entry e = head; e != null; e = e.next) {
+            if (e.rounds == 0 && !e.cancelled) return true;
+        }
+        return false;
+    }
+
+    // ---------------------------------------------------------------
+    // Wheel lists
+    // ---------------------------------------------------------------
+
+    /** Inserts a new entry; during a frame the cursor slot is already being visited. */
+    private void insert(Entry e) {
+        long nextVisit = inFrame ? cursorTick + 1 : cursorTick;
+        link(e, Math.max(e.dueNanos / SLOT_NANOS, nextVisit), nextVisit);
+    }
+
+    /**
+     * Links an entry into its slot.
+     *
+     * @param nextVisit first tick the frame loop has not visited yet; the entry
+     *                  skips one visit to its slot per full revolution before dueTick
+     */
+    private void link(Entry e, long dueTick, long nextVisit) {
+        e.rounds = (int) ((dueTick - nextVisit) >>> WHEEL_BITS);
+        int slot = (int) (dueTick & WHEEL_MASK);
+        e.slot = slot;
+        e.prev = null;
+        e.next = slots[slot];
+        if (e.next != null) e.next.prev = e;
+        slots[slot] = e;
+    }
+
+    private void unlink(Entry e) {
+        if (e.slot < 0) return;
+        if (e.prev != null) {
+            e.prev.next = e.next;
+        } else {
+            slots[e.slot] = e.next;
+        }
+        if (e.next != null) e.next.prev = e.prev;
+        e.prev = e.next = null;
+        e.slot = -1;
+    }
+
+    private static void checkEdt() {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            throw new IllegalStateException("GameScheduler must be used on the EDT");
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // Stats
+    // ---------------------------------------------------------------
+
+    public long   getTicks()  { return ticks; }
+    public long   getFrames() { return frames; }
+
+    /** Mean delay between a board's due time and its actual tick, in ms. */
+    public double getMeanLatenessMs() { return ticks == 0 ? 0 : latenessSumNanos / 1e6 / ticks; }
+    public double getMaxLatenessMs()  { return latenessMaxNanos / 1e6; }
+
+    /** Scheduler bookkeeping per frame, excluding engine ticks and rendering, in microseconds. */
+    public double getOverheadMicrosPerFrame() { return frames == 0 ? 0 : overheadNanos / 1e3 / frames; }
+
+    public void resetStats() {
+        ticks = frames = latenessSumNanos = latenessMaxNanos = overheadNanos = 0;
+    }
+
+    private static final class Entry {
+        final Board board;
+        long    dueNanos;
+        int     rounds;
+        int     slot = -1;
+        Entry   prev;
+        Entry   next;
+        boolean tickedThisFrame;
+        boolean cancelled;
+
+        Entry(Board board) {
+            this.board = board;
+        }
+    }
+}
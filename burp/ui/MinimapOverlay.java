@@ -0,0 +1,108 @@
+package burp.ui;
+
+import burp.model.OccupancyPyramid;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * Minimap of the snake for levels larger than the visible board, drawn in
+ * the board's top-right corner with the viewport outlined.
+ *
+ * Each pixel of a persistent image is one block of an {@link OccupancyPyramid}
+ * level, chosen so the image is at most {@link #MAX_BLOCKS} on a side. A paint
+ * recolours only the blocks the pyramid reports as changed and scales the
+ * image onto the board, so its cost depends on neither snake length nor level
+ * size. A new pyramid or a cleared one (new game, restore) rebuilds the image.
+ */
+public final class MinimapOverlay {
+
+    static final int MAX_BLOCKS = 160;
+
+    private static final int MARGIN = 8;
+    private static final int EMPTY  = 0x141414;
+
+    private static final Color COLOR_FRAME    = new Color(80, 200, 120, 180);
+    private static final Color COLOR_VIEWPORT = new Color(255, 255, 255, 200);
+
+    private OccupancyPyramid pyramid;
+    private int              generation;
+    private int              level;
+    private int              scale;
+    private BufferedImage    image;
+    private int              lastUpdated;
+
+    /**
+     * Brings the image up to date with the pyramid and draws it.
+     *
+     * @param viewX    leftmost visible level column
+     * @param viewY    topmost visible level row
+     * @param viewCols visible columns
+     * @param viewRows visible rows
+     */
+    public void paint(Graphics2D g, OccupancyPyramid occupancy, int viewX, int viewY, int viewCols, int viewRows) {
+        update(occupancy);
+
+        int w = image.getWidth() * scale;
+        int h = image.getHeight() * scale;
+        int x = BoardRenderer.BOARD_WIDTH - MARGIN - w;
+        int y = MARGIN;
+
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g2.drawImage(image, x, y, w, h, null);
+        g2.setColor(COLOR_FRAME);
+        g2.drawRect(x - 1, y - 1, w + 1, h + 1);
+        g2.setColor(COLOR_VIEWPORT);
+        g2.drawRect(x + (viewX * scale >> level), y + (viewY * scale >> level),
+                    Math.max(1, viewCols * scale >> level), Math.max(1, viewRows * scale >> level));
+        g2.dispose();
+    }
+
+    /** Recolours changed blocks, or every block after a reset; returns how many were touched. */
+    int update(OccupancyPyramid occupancy) {
+        if (occupancy != pyramid || occupancy.getGeneration() != generation) {
+            rebuild(occupancy);
+        } else {
+            int n = occupancy.getChangedCount();
+            int blockCols = occupancy.getBlockCols(level);
+            for (int i = 0; i < n; i++) {
+                int b = occupancy.getChangedBlock(i);
+                image.setRGB(b % blockCols, b / blockCols, colorOf(occupancy.trackedCount(b)));
+            }
+            lastUpdated = n;
+        }
+        occupancy.clearChanges();
+        return lastUpdated;
+    }
+
+    private void rebuild(OccupancyPyramid occupancy) {
+        pyramid    = occupancy;
+        generation = occupancy.getGeneration();
+        level      = occupancy.levelFitting(MAX_BLOCKS);
+        occupancy.trackChanges(level);
+
+        int cols = occupancy.getBlockCols(level);
+        int rows = occupancy.getBlockRows(level);
+        scale = Math.max(1, MAX_BLOCKS / Math.max(cols, rows));
+        if (image == null || image.getWidth() != cols || image.getHeight() != rows) {
+            image = new BufferedImage(cols, rows, BufferedImage.TYPE_INT_RGB);
+        }
+        for (int by = 0; by < rows; by++) {
+            for (int bx = 0; bx < cols; bx++) {
+                image.setRGB(bx, by, colorOf(occupancy.count(level, bx, by)));
+            }
+        }
+        lastUpdated = cols * rows;
+    }
+
+    /** Green, brighter as more of the block is covered. */
+    private int colorOf(int count) {
+        if (count <= 0) return EMPTY;
+        int area = 1 << (2 * level);
+        int green = 120 + (int) (135L * Math.min(count, area) / area);
+        return (green / 3) << 16 | green << 8 | (green / 2);
+    }
+}
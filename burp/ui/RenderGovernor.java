@@ -0,0 +1,77 @@
+package burp.ui;
+
+import java.util.Arrays;
+
+/**
+ * Picks a {@link RenderQuality} from recent paint durations.
+ *
+ * Paints are averaged over a short window and compared with a share of the
+ * current tick interval. Over budget steps quality down one level at once;
+ * stepping back up needs a long run of frames well under budget, so the level
+ * does not flap while Burp's load hovers around the threshold. After every
+ * change the window restarts, so each decision only sees frames painted at
+ * the current level.
+ */
+public class RenderGovernor {
+
+    private static final int    WINDOW            = 8;    // frames averaged per decision
+    private static final double BUDGET_FRACTION   = 0.25; // paint may use this share of a tick
+    private static final double UPGRADE_FRACTION  = 0.10; // ... and must stay under this to step up
+    private static final int    UPGRADE_AFTER     = 120;  // consecutive cheap frames before stepping up
+
+    private final long[] samples = new long[WINDOW];
+    private int  sampleCount;
+    private int  sampleIndex;
+    private long sampleSum;
+    private int  cheapFrames;
+    private RenderQuality quality = RenderQuality.FULL;
+
+    /**
+     * Records one paint.
+     *
+     * @param intervalMs the tick interval the paint has to fit in
+     * @return true if the quality level changed
+     */
+    public boolean record(long paintNanos, int intervalMs) {
+        sampleSum -= samples[sampleIndex];
+        samples[sampleIndex] = paintNanos;
+        sampleSum += paintNanos;
+        sampleIndex = (sampleIndex + 1) % WINDOW;
+        if (sampleCount < WINDOW) sampleCount++;
+
+        long intervalNanos = intervalMs * 1_000_000L;
+        if (paintNanos < intervalNanos * UPGRADE_FRACTION) {
+            cheapFrames++;
+        } else {
+            cheapFrames = 0;
+        }
+
+        if (sampleCount == WINDOW && sampleSum / WINDOW > intervalNanos * BUDGET_FRACTION
+                && quality != RenderQuality.FLAT) {
+            setQuality(quality.lower());
+            return true;
+        }
+        if (cheapFrames >= UPGRADE_AFTER && quality != RenderQuality.FULL) {
+            setQuality(quality.higher());
+            return true;
+        }
+        return false;
+    }
+
+    public RenderQuality getQuality() {
+        return quality;
+    }
+
+    /** Forces a level; the paint history starts over. */
+    public void setQuality(RenderQuality quality) {
+        this.quality = quality;
+        Arrays.fill(samples, 0);
+        sampleCount = sampleIndex = cheapFrames = 0;
+        sampleSum   = 0;
+    }
+
+    /** Mean of the current window in ms, or 0 before any paint. */
+    public double getMeanPaintMs() {
+        return sampleCount == 0 ? 0 : sampleSum / 1e6 / sampleCount;
+    }
+}
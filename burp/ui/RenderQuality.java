@@ -0,0 +1,43 @@
+package burp.ui;
+
+/**
+ * Drawing detail levels for {@link BoardRenderer}, from richest to cheapest.
+ * Antialiasing goes with the effects rather than on its own rung: on the same
+ * frames, effects without it painted no faster than with it (render-quality bench).
+ */
+public enum RenderQuality {
+    FULL("Full",        true,  true,  true),
+    REDUCED("Reduced",  false, false, true),
+    FLAT("Flat",        false, false, false);
+
+    private final String  label;
+    private final boolean antialias; // shape antialiasing
+    private final boolean effects;   // food glow and shine, snake and wall outlines
+    private final boolean shaped;    // rounded cells, round food, eyes, tail fade; else plain squares
+
+    RenderQuality(String label, boolean antialias, boolean effects, boolean shaped) {
+        this.label     = label;
+        this.antialias = antialias;
+        this.effects   = effects;
+        this.shaped    = shaped;
+    }
+
+    public boolean isAntialiased()  { return antialias; }
+    public boolean hasEffects()     { return effects; }
+    public boolean isShaped()       { return shaped; }
+
+    /** One level cheaper, or this level if already the cheapest. */
+    public RenderQuality lower() {
+        return this == FLAT ? FLAT : values()[ordinal() + 1];
+    }
+
+    /** One level richer, or this level if already the richest. */
+    public RenderQuality higher() {
+        return this == FULL ? FULL : values()[ordinal() - 1];
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -1,31 +1,63 @@
 package burp.ui;
 
 import burp.ITab;
+import burp.bot.BotDriver;
+import burp.bot.BotLoader;
+import burp.bot.LatencyHistogram;
 import burp.engine.GameEngine;
+import burp.engine.GameEventHandler;
+import burp.engine.GameEventStream;
+import burp.engine.GameSnapshot;
+import burp.engine.GameStateCodec;
+import burp.engine.TrafficFeed;
+import burp.export.ExportStats;
+import burp.export.FrameExporter;
+import burp.export.FrameSink;
+import burp.export.GifSequenceSink;
+import burp.export.PngSequenceSink;
 import burp.input.InputHandler;
 import burp.model.Difficulty;
+import burp.model.Direction;
 import burp.model.GameState;
+import burp.model.LevelMap;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
 import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
+import javax.swing.JFileChooser;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.SwingUtilities;
-import javax.swing.Timer;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Component;
 import java.awt.FlowLayout;
 import java.awt.Font;
+import java.awt.GraphicsEnvironment;
 import java.awt.GridBagLayout;
+import java.awt.Window;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import javax.swing.Box;
 import java.awt.Desktop;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 
@@ -34,13 +66,23 @@ import javax.swing.SwingUtilities;
  */
 public class SnakeTab implements ITab {
 
+    private static final long   BOT_DEADLINE_NANOS = 20_000_000L; // also capped at half the tick interval
+    private static final String BOT_OFF            = "Off (keyboard)";
+    private static final String BOT_LOAD_JAR       = "Load from jar…";
+
     // ---------------------------------------------------------------
     // Core components
     // ---------------------------------------------------------------
     private final JPanel         rootPanel;
     private final SnakeGamePanel gamePanel;
     private final GameEngine     engine;
-    private final Timer          gameTimer;
+    private final GameScheduler  scheduler;
+    private final GameScheduler.Board board;
+    private final TrafficFeed    trafficFeed;
+    private final GameEventStream.Subscription events;
+    private final GameEventHandler uiUpdater;
+    private final InputHandler   inputHandler;
+    private final HierarchyListener showingWatcher;
 
     // ---------------------------------------------------------------
     // UI controls (accessed on EDT only)
@@ -48,19 +90,61 @@ public class SnakeTab implements ITab {
     private final JLabel    scoreLabel;
     private final JLabel    highScoreLabel;
     private final JLabel    speedLabel;
+    private final JLabel    qualityLabel;
     private final JButton   startRestartBtn;
     private final JButton   pauseBtn;
     private final JComboBox<Difficulty> difficultyBox;
     private final JCheckBox wrapCheckBox;
+    private final JComboBox<Integer> foodCountBox;
+    private final JCheckBox trafficCheckBox;
+    private final JButton   levelBtn;
+    private final JButton   recordBtn;
+    private final JButton   botBtn;
+
+    private ExecutorService browserLauncher; // created on first link click
+    private boolean         disposed;
+
+    private FrameExporter exporter;  // non-null while recording
+    private BotDriver     botDriver; // non-null while a bot steers
+    private final ForkJoinPool   plannerPool = newPlannerPool(); // threads start with the first search
+    private final List<BotLoader.BotFactory> botChoices = new ArrayList<>(BotLoader.builtIn(plannerPool));
+
+    // ---------------------------------------------------------------
+    // Background suspension (EDT only)
+    // ---------------------------------------------------------------
+    private boolean autoPaused;   // true when we paused the game, not the player
+    private Window  hostWindow;
+    private final WindowAdapter hostFocusWatcher = new WindowAdapter() {
+        @Override
+        public void windowLostFocus(WindowEvent e) {
+            suspendInBackground();
+        }
+
+        @Override
+        public void windowGainedFocus(WindowEvent e) {
+            resumeFromBackground();
+        }
+    };
 
     public SnakeTab() {
+        this(new TrafficFeed());
+    }
+
+    /** @param trafficFeed fed by the proxy listener; drives traffic mode when enabled */
+    public SnakeTab(TrafficFeed trafficFeed) {
+        this.trafficFeed = trafficFeed;
         engine    = new GameEngine();
+        engine.setOccupancyTracking(true); // feeds the minimap on large levels
+        engine.setTrafficFeed(trafficFeed);
         gamePanel = new SnakeGamePanel(engine);
 
         // ---- Score / info labels ----
         scoreLabel     = makeLabel("Score: 0");
         highScoreLabel = makeLabel("Best: 0");
         speedLabel     = makeLabel("Speed: 1");
+        qualityLabel   = makeLabel("Gfx: " + gamePanel.getRenderQuality());
+        qualityLabel.setToolTipText("Render quality; lowered automatically when painting falls behind the game");
+        gamePanel.setQualityListener(q -> qualityLabel.setText("Gfx: " + q));
 
         // ---- Buttons ----
         startRestartBtn = new JButton("▶  Start");
@@ -76,6 +160,25 @@ public class SnakeTab implements ITab {
         wrapCheckBox.setOpaque(false);
         wrapCheckBox.setForeground(new Color(200, 200, 200));
 
+        // ---- Simultaneous food items ----
+        foodCountBox = new JComboBox<>(new Integer[] {1, 5, 20, 100});
+        foodCountBox.setSelectedItem(1);
+
+        // ---- Traffic mode toggle ----
+        trafficCheckBox = new JCheckBox("Traffic");
+        trafficCheckBox.setOpaque(false);
+        trafficCheckBox.setForeground(new Color(200, 200, 200));
+        trafficCheckBox.setToolTipText("Next game: proxied requests spawn food, error responses spawn obstacles");
+
+        // ---- Level loader ----
+        levelBtn = new JButton("Level…");
+
+        // ---- Frame export ----
+        recordBtn = new JButton("⏺  Record");
+
+        // ---- Bot selector ----
+        botBtn = new JButton("Bot: Off");
+
         // ---- Top bar ----
         JPanel topBar = buildTopBar();
 
@@ -92,15 +195,67 @@ public class SnakeTab implements ITab {
         centerWrapper.add(gamePanel);
         rootPanel.add(centerWrapper, BorderLayout.CENTER);
 
-        // ---- Game timer (does not start yet) ----
-        gameTimer = new Timer(engine.getCurrentInterval(), e -> gameTick());
-        gameTimer.setInitialDelay(0);
+        // ---- Game loop: ticked by the shared scheduler (not scheduled yet) ----
+        scheduler = GameScheduler.acquireShared(); // released in dispose()
+        board = new GameScheduler.Board() {
+            @Override
+            public GameEngine getEngine() {
+                return engine;
+            }
+
+            @Override
+            public void beforeTick() {
+                applyBotDecision();
+            }
+
+            @Override
+            public void afterTick(int nextDelayMs) {
+                onTicked(nextDelayMs);
+            }
+
+            @Override
+            public void render() {
+                gamePanel.repaint();
+            }
+        };
 
         // ---- Wire listeners ----
         wireListeners();
+        inputHandler = new InputHandler(
+            engine,
+            this::startOrRestart,
+            this::togglePause
+        );
+        gamePanel.addKeyListener(inputHandler);
+
+        // ---- Suspend the loop while the tab is hidden or Burp is unfocused ----
+        showingWatcher = e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0) {
+                onShowingChanged();
+            }
+        };
+        rootPanel.addHierarchyListener(showingWatcher);
+
+        // ---- Engine deltas: one poll per batch of events ----
+        uiUpdater = new GameEventHandler() {
+            @Override
+            public void onReset() {
+                syncUi();
+            }
 
-        // ---- Engine event callback ----
-        engine.setListener(eng -> SwingUtilities.invokeLater(this::syncUi));
+            @Override
+            public void onScoreChanged(int score, int highScore) {
+                syncScore();
+            }
+
+            @Override
+            public void onStateTransition(GameState from, GameState to) {
+                syncControls(to);
+                gamePanel.repaint();
+            }
+        };
+        Runnable poll = this::pollEvents;
+        events = engine.getEvents().subscribe(() -> SwingUtilities.invokeLater(poll));
     }
 
     // ---------------------------------------------------------------
@@ -121,21 +276,222 @@ public class SnakeTab implements ITab {
     // Lifecycle
     // ---------------------------------------------------------------
 
-    /** Called when the Burp extension is unloaded. Stops the timer cleanly. */
+    /**
+     * Called when the Burp extension is unloaded. Stops the game loop and
+     * releases every listener, thread and class loader the tab holds, so
+     * nothing outside the tab keeps it or the extension's classes reachable.
+     */
     public void dispose() {
-        gameTimer.stop();
+        if (disposed) return; // the scheduler reference must be released exactly once
+        disposed = true;
+        scheduler.unschedule(board);
+        GameScheduler.releaseShared();
+        bindHostWindow(null);
+        stopRecording(false);
+        if (botDriver != null) botDriver.close();
+        botDriver = null;
+        plannerPool.shutdownNow();
+        events.close();
+
+        rootPanel.removeHierarchyListener(showingWatcher);
+        gamePanel.removeKeyListener(inputHandler);
+        gamePanel.dispose();
+        if (browserLauncher != null) browserLauncher.shutdownNow();
+        for (BotLoader.BotFactory factory : botChoices) {
+            try {
+                factory.close();
+            } catch (IOException e) {
+                // Unloading anyway; nothing the player can do about it
+            }
+        }
+        botChoices.clear();
+    }
+
+    /**
+     * Encodes the game in progress so it can be resumed after a restart.
+     *
+     * @return the encoded game, or null when no game is running or paused
+     */
+    public byte[] suspendGame() {
+        GameState state = engine.getState();
+        if (state != GameState.RUNNING && state != GameState.PAUSED) return null;
+        return GameStateCodec.encode(engine.snapshot());
+    }
+
+    /**
+     * Restores a game saved by {@link #suspendGame()}, paused until the player resumes it.
+     *
+     * @throws IOException if the blob is corrupt or its board does not fit this tab
+     */
+    public void resumeGame(byte[] saved) throws IOException {
+        GameSnapshot snapshot = GameStateCodec.decode(saved);
+        LevelMap level = snapshot.getLevel();
+        if (level.getCols() < GameEngine.COLS || level.getRows() < GameEngine.ROWS) {
+            throw new IOException("Saved board is " + level.getCols() + "x" + level.getRows());
+        }
+        scheduler.unschedule(board);
+        engine.restore(snapshot);
+        if (engine.getState() == GameState.RUNNING) engine.togglePause();
+        autoPaused = false;
+
+        // Controls follow the restored game
+        difficultyBox.setSelectedItem(engine.getDifficulty());
+        wrapCheckBox.setSelected(engine.isWrapMode());
+        foodCountBox.setSelectedItem(engine.getFoodCount());
+        boolean traffic = engine.getObstacles() != null;
+        trafficCheckBox.setSelected(traffic);
+        trafficFeed.setEnabled(traffic);
+        syncUi();
+    }
+
+    // ---------------------------------------------------------------
+    // Background suspension
+    // ---------------------------------------------------------------
+
+    private void onShowingChanged() {
+        if (rootPanel.isShowing()) {
+            bindHostWindow(SwingUtilities.getWindowAncestor(rootPanel));
+            resumeFromBackground();
+        } else {
+            suspendInBackground();
+        }
+    }
+
+    /** Moves the focus watcher to the window currently hosting the tab. */
+    private void bindHostWindow(Window window) {
+        if (window == hostWindow) return;
+        if (hostWindow != null) {
+            hostWindow.removeWindowFocusListener(hostFocusWatcher);
+        }
+        hostWindow = window;
+        if (hostWindow != null) {
+            hostWindow.addWindowFocusListener(hostFocusWatcher);
+        }
+    }
+
+    /** Pauses a running game and unschedules it so the hidden tab costs no wakeups. */
+    private void suspendInBackground() {
+        if (engine.getState() == GameState.RUNNING) {
+            engine.togglePause();
+            autoPaused = true;
+        }
+        scheduler.unschedule(board);
+    }
+
+    /** Resumes a game we paused ourselves, once the tab is visible and focused again. */
+    private void resumeFromBackground() {
+        if (!isInForeground()) return;
+        if (autoPaused && engine.getState() == GameState.PAUSED) {
+            engine.togglePause();
+            syncTimer();
+        }
+        autoPaused = false;
+    }
+
+    private boolean isInForeground() {
+        return rootPanel.isShowing() && (hostWindow == null || hostWindow.isFocused());
+    }
+
+    /** Keeps the board scheduled only while a game is RUNNING in the foreground. */
+    private void syncTimer() {
+        if (engine.getState() == GameState.RUNNING && isInForeground()) {
+            scheduler.schedule(board);
+        } else {
+            scheduler.unschedule(board);
+        }
     }
 
     // ---------------------------------------------------------------
     // Game loop
     // ---------------------------------------------------------------
 
-    private void gameTick() {
-        int nextDelay = engine.tick();
-        if (gameTimer.getDelay() != nextDelay) {
-            gameTimer.setDelay(nextDelay);
+    /** Runs after each scheduled tick; the scheduler repaints the board afterwards. */
+    private void onTicked(int nextDelay) {
+        if (exporter != null) {
+            exporter.submit(engine.snapshot(), nextDelay); // drops the frame rather than block
         }
-        gamePanel.repaint();
+        if (engine.getState() != GameState.RUNNING) {
+            scheduler.unschedule(board);
+        } else if (botDriver != null) {
+            beginBotDecision(nextDelay);
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // Bots
+    // ---------------------------------------------------------------
+
+    /** Starts the bot thinking about the next move; the deadline leaves half the interval spare. */
+    private void beginBotDecision(int intervalMs) {
+        botDriver.begin(Math.min(BOT_DEADLINE_NANOS, intervalMs * 500_000L));
+    }
+
+    /** Takes the bot's move just before the tick; never waits past the decision's deadline. */
+    private void applyBotDecision() {
+        if (botDriver == null) return;
+        Direction d = botDriver.awaitDecision();
+        if (d != null) engine.setDesiredDirection(d);
+    }
+
+    /** Lets the player hand the snake to a built-in bot or one loaded from a jar, or take it back. */
+    private void chooseBot() {
+        List<Object> options = new ArrayList<>();
+        options.add(BOT_OFF);
+        options.addAll(botChoices);
+        options.add(BOT_LOAD_JAR);
+        Object choice = JOptionPane.showInputDialog(rootPanel, "Who steers the snake?", "Bot",
+                JOptionPane.QUESTION_MESSAGE, null, options.toArray(), BOT_OFF);
+        if (choice == BOT_LOAD_JAR) {
+            choice = loadBotJar();
+        }
+        if (choice == null) return;
+        setBot(choice instanceof BotLoader.BotFactory factory ? factory : null);
+        gamePanel.requestFocusInWindow();
+    }
+
+    /** @return the bot to use from the chosen jar, or null if cancelled or failed */
+    private BotLoader.BotFactory loadBotJar() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Bot jar");
+        if (chooser.showOpenDialog(rootPanel) != JFileChooser.APPROVE_OPTION) return null;
+        List<BotLoader.BotFactory> loaded;
+        try {
+            loaded = BotLoader.fromJar(chooser.getSelectedFile().toPath());
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(
+                rootPanel,
+                "Could not load bots:\n" + ex.getMessage(),
+                "Bot Not Loaded",
+                JOptionPane.ERROR_MESSAGE
+            );
+            return null;
+        }
+        botChoices.addAll(loaded);
+        if (loaded.size() == 1) return loaded.get(0);
+        return (BotLoader.BotFactory) JOptionPane.showInputDialog(rootPanel, "Bots in this jar:", "Bot",
+                JOptionPane.QUESTION_MESSAGE, null, loaded.toArray(), loaded.get(0));
+    }
+
+    /** The bots the player can pick from: built-in ones and any loaded from jars. EDT only. */
+    public List<BotLoader.BotFactory> getBotChoices() {
+        return Collections.unmodifiableList(botChoices);
+    }
+
+    /** Hands the snake to a bot, or back to the keyboard with null; EDT only. */
+    public final void setBot(BotLoader.BotFactory factory) {
+        if (botDriver != null) botDriver.close();
+        botDriver = factory != null ? new BotDriver(factory.newInstance(), engine) : null;
+        botBtn.setText("Bot: " + (factory != null ? factory.getName() : "Off"));
+        botBtn.setToolTipText(null);
+    }
+
+    /** Decision stats for the current bot, shown as the bot button's tooltip. */
+    private String botSummary() {
+        LatencyHistogram latency = botDriver.getLatency();
+        return String.format("%s: %d decisions, %d late, %d failed, p50 %.0fµs, p99 %.0fµs, max %.0fµs",
+                botDriver.getBot().name(), botDriver.getDecisions(), botDriver.getMisses(),
+                botDriver.getCrashes(), latency.percentile(50) / 1e3, latency.percentile(99) / 1e3,
+                latency.getMaxNanos() / 1e3);
     }
 
     // ---------------------------------------------------------------
@@ -145,10 +501,7 @@ public class SnakeTab implements ITab {
     private void wireListeners() {
         startRestartBtn.addActionListener(e -> startOrRestart());
 
-        pauseBtn.addActionListener(e -> {
-            engine.togglePause();
-            gamePanel.requestFocusInWindow();
-        });
+        pauseBtn.addActionListener(e -> togglePause());
 
         difficultyBox.addActionListener(e -> {
             Difficulty selected = (Difficulty) difficultyBox.getSelectedItem();
@@ -159,38 +512,160 @@ public class SnakeTab implements ITab {
 
         wrapCheckBox.addActionListener(e -> engine.setWrapMode(wrapCheckBox.isSelected()));
 
-        // Input handler on game panel
-        InputHandler inputHandler = new InputHandler(
-            engine,
-            this::startOrRestart,
-            () -> {
-                engine.togglePause();
-                gamePanel.requestFocusInWindow();
+        foodCountBox.addActionListener(e -> {
+            Integer count = (Integer) foodCountBox.getSelectedItem();
+            if (count != null) {
+                engine.setFoodCount(count);
             }
-        );
-        gamePanel.addKeyListener(inputHandler);
+        });
+
+        trafficCheckBox.addActionListener(e -> trafficFeed.setEnabled(trafficCheckBox.isSelected()));
+
+        levelBtn.addActionListener(e -> chooseLevel());
+
+        botBtn.addActionListener(e -> chooseBot());
+
+        recordBtn.addActionListener(e -> {
+            if (exporter == null) {
+                startRecording();
+            } else {
+                stopRecording(true);
+            }
+        });
     }
 
     private void startOrRestart() {
-        gameTimer.stop();
+        scheduler.unschedule(board);
+        autoPaused = false;
         engine.startNewGame();
-        gameTimer.setDelay(engine.getCurrentInterval());
-        gameTimer.start();
+        if (botDriver != null) {
+            botDriver.reset();
+            beginBotDecision(engine.getCurrentInterval());
+        }
+        syncTimer();
         syncUi();
         gamePanel.requestFocusInWindow();
     }
 
+    /** Lets the player pick a level file; maps smaller than the visible board are rejected. */
+    private void chooseLevel() {
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showOpenDialog(rootPanel) != JFileChooser.APPROVE_OPTION) return;
+        try {
+            LevelMap level = LevelMap.load(chooser.getSelectedFile().toPath());
+            if (level.getCols() < GameEngine.COLS || level.getRows() < GameEngine.ROWS) {
+                JOptionPane.showMessageDialog(
+                    rootPanel,
+                    "Level is " + level.getCols() + "x" + level.getRows()
+                        + ", smaller than the " + GameEngine.COLS + "x" + GameEngine.ROWS + " board.",
+                    "Level Not Loaded",
+                    JOptionPane.WARNING_MESSAGE
+                );
+                return;
+            }
+            scheduler.unschedule(board);
+            engine.setLevel(level);
+            syncUi();
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(
+                rootPanel,
+                "Could not load level:\n" + ex.getMessage(),
+                "Level Not Loaded",
+                JOptionPane.ERROR_MESSAGE
+            );
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // Frame export
+    // ---------------------------------------------------------------
+
+    /** Asks for a target (.gif file, or a directory for a PNG sequence) and starts streaming frames. */
+    private void startRecording() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Record to .gif file or PNG directory");
+        if (chooser.showSaveDialog(rootPanel) != JFileChooser.APPROVE_OPTION) return;
+        Path target = chooser.getSelectedFile().toPath();
+        try {
+            FrameSink sink = target.toString().toLowerCase().endsWith(".gif")
+                ? new GifSequenceSink(target)
+                : new PngSequenceSink(target);
+            exporter = new FrameExporter(sink);
+            recordBtn.setText("⏹  Stop");
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(
+                rootPanel,
+                "Could not start recording:\n" + ex.getMessage(),
+                "Record Failed",
+                JOptionPane.ERROR_MESSAGE
+            );
+        }
+        gamePanel.requestFocusInWindow();
+    }
+
+    /** Detaches the exporter and drains it on a background thread so the EDT never waits. */
+    private void stopRecording(boolean report) {
+        FrameExporter finishing = exporter;
+        if (finishing == null) return;
+        exporter = null;
+        recordBtn.setText("⏺  Record");
+
+        Thread drain = new Thread(() -> {
+            String message;
+            int type;
+            try {
+                ExportStats stats = finishing.finish();
+                message = "Recording saved: " + stats;
+                type    = JOptionPane.INFORMATION_MESSAGE;
+            } catch (IOException ex) {
+                message = "Recording failed:\n" + ex.getMessage();
+                type    = JOptionPane.ERROR_MESSAGE;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (report) {
+                String text = message;
+                int    kind = type;
+                SwingUtilities.invokeLater(() ->
+                    JOptionPane.showMessageDialog(rootPanel, text, "Recording", kind));
+            }
+        }, "snake-export-finish");
+        drain.setDaemon(true);
+        drain.start();
+    }
+
+    /** Player-initiated pause; a paused game keeps the timer stopped. */
+    private void togglePause() {
+        autoPaused = false;
+        engine.togglePause();
+        syncTimer();
+        gamePanel.requestFocusInWindow();
+    }
+
     // ---------------------------------------------------------------
     // UI sync (EDT only)
     // ---------------------------------------------------------------
 
+    /** Applies the engine's deltas since the last poll; only what changed is touched. */
+    private void pollEvents() {
+        events.poll(uiUpdater);
+    }
+
     private void syncUi() {
-        GameState state = engine.getState();
+        syncScore();
+        syncControls(engine.getState());
+        gamePanel.repaint();
+    }
+
+    private void syncScore() {
         scoreLabel.setText("Score: " + engine.getScore());
         highScoreLabel.setText("Best: "  + engine.getHighScore());
         int speedLevel = engine.getFoodEaten() / 5 + 1;
         speedLabel.setText("Speed: " + speedLevel);
+    }
 
+    private void syncControls(GameState state) {
         switch (state) {
             case WAITING -> {
                 startRestartBtn.setText("▶  Start");
@@ -207,12 +682,12 @@ public class SnakeTab implements ITab {
                 pauseBtn.setText("▶  Resume");
             }
             case GAME_OVER -> {
-                gameTimer.stop();
+                scheduler.unschedule(board);
+                if (botDriver != null) botBtn.setToolTipText(botSummary());
                 startRestartBtn.setText("⟳  Restart");
                 pauseBtn.setEnabled(false);
             }
         }
-        gamePanel.repaint();
     }
 
     // ---------------------------------------------------------------
@@ -236,12 +711,24 @@ public class SnakeTab implements ITab {
         bar.add(scoreLabel);
         bar.add(highScoreLabel);
         bar.add(speedLabel);
+        bar.add(qualityLabel);
         bar.add(makeSeparator());
         JLabel diffLabel = new JLabel("Difficulty:");
         diffLabel.setForeground(new Color(180, 180, 180));
         bar.add(diffLabel);
         bar.add(difficultyBox);
         bar.add(wrapCheckBox);
+        JLabel foodLabel = new JLabel("Food:");
+        foodLabel.setForeground(new Color(180, 180, 180));
+        bar.add(foodLabel);
+        bar.add(foodCountBox);
+        bar.add(trafficCheckBox);
+        styleButton(levelBtn, new Color(120, 120, 140));
+        bar.add(levelBtn);
+        styleButton(recordBtn, new Color(190, 80, 80));
+        bar.add(recordBtn);
+        styleButton(botBtn, new Color(90, 150, 150));
+        bar.add(botBtn);
 
         // Add a glue component to push the next component to the right
         bar.add(Box.createHorizontalGlue());
@@ -259,39 +746,57 @@ public class SnakeTab implements ITab {
         return bar;
     }
 
+    /**
+     * Search threads for the Monte-Carlo bot: half the cores, so the planner
+     * never busy-spins Burp's common pool or every core once per tick.
+     */
+    private static ForkJoinPool newPlannerPool() {
+        AtomicInteger ids = new AtomicInteger();
+        return new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2), pool -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            t.setName("snake-planner-" + ids.incrementAndGet());
+            return t;
+        }, null, false);
+    }
+
+    /** One short-lived daemon thread for browser launches; it exits when idle and is shut down with the tab. */
+    private ExecutorService browserLauncher() {
+        if (browserLauncher == null) {
+            browserLauncher = new ThreadPoolExecutor(0, 1, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread t = new Thread(r, "snake-browser");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return browserLauncher;
+    }
+
     private void openUrlInBrowser(String url) {
-        try {
-            // Check if Desktop is supported and browse action is supported
-            if (Desktop.isDesktopSupported() && Desktop.getDesktop().isSupported(Desktop.Action.BROWSE)) {
-                // Execute in a separate thread to avoid blocking EDT
-                new Thread(() -> {
-                    try {
-                        Desktop.getDesktop().browse(new URI(url));
-                    } catch (IOException | URISyntaxException ex) {
-                        // Log error and show user-friendly message
-                        ex.printStackTrace();
-                        SwingUtilities.invokeLater(() -> 
-                            JOptionPane.showMessageDialog(
-                                rootPanel,
-                                "Could not open browser. Please visit manually:\n" + url,
-                                "Browser Error",
-                                JOptionPane.ERROR_MESSAGE
-                            )
-                        );
-                    }
-                }).start();
-            } else {
+        // Probe and launch off the EDT: Desktop lookups can block
+        browserLauncher().execute(() -> {
+            String message;
+            String title;
+            int    type;
+            try {
+                if (Desktop.isDesktopSupported() && Desktop.getDesktop().isSupported(Desktop.Action.BROWSE)) {
+                    Desktop.getDesktop().browse(new URI(url));
+                    return;
+                }
                 // Fallback for systems where Desktop is not supported
-                JOptionPane.showMessageDialog(
-                    rootPanel,
-                    "Desktop browsing not supported. Please visit:\n" + url,
-                    "Browser Unavailable",
-                    JOptionPane.INFORMATION_MESSAGE
-                );
+                message = "Desktop browsing not supported. Please visit:\n" + url;
+                title   = "Browser Unavailable";
+                type    = JOptionPane.INFORMATION_MESSAGE;
+            } catch (IOException | URISyntaxException | RuntimeException ex) {
+                ex.printStackTrace();
+                message = "Could not open browser. Please visit manually:\n" + url;
+                title   = "Browser Error";
+                type    = JOptionPane.ERROR_MESSAGE;
             }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+            if (GraphicsEnvironment.isHeadless()) return; // no one to show it to
+            String text = message, caption = title;
+            int    kind = type;
+            SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(rootPanel, text, caption, kind));
+        });
     }
 
     private static JLabel makeLabel(String text) {